@@ -0,0 +1,158 @@
+package com.JuanGreenGarden.Gardening.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Mide el tiempo hasta la primera petición de la aplicación empaquetada en tres modos: arranque normal,
+ * perfil {@code faststart}, y perfil {@code faststart} con AOT y el archivo CDS que genera el build.
+ *
+ * Uso: {@code StartupBenchmark <jar> <directorio faststart> <ejecuciones> <perfiles base>}. En cada ejecución
+ * lanza un proceso nuevo y cuenta desde su creación hasta que el servidor responde por primera vez y hasta que
+ * responde la primera petición autenticada a la API. Muestra la mediana y el mínimo de cada modo y los escribe
+ * en {@code target/startup-report.json}.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        File jar = new File(args[0]);
+        File faststartDir = new File(args[1]);
+        int runs = Integer.parseInt(args[2]);
+        String profiles = args[3];
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of(java, "-jar", jar.getPath(), "--spring.profiles.active=" + profiles));
+        modes.put("faststart", List.of(java, "-jar", jar.getPath(), "--spring.profiles.active=" + profiles + ",faststart"));
+        modes.put("faststart+aot+cds", List.of(java,
+                "-XX:SharedArchiveFile=" + new File(faststartDir, "application.jsa").getPath(),
+                "-Dspring.aot.enabled=true",
+                "-jar", new File(faststartDir, "application.jar").getPath(),
+                "--spring.profiles.active=" + profiles + ",faststart"));
+
+        StartupBenchmark benchmark = new StartupBenchmark();
+        List<Map<String, Object>> report = new ArrayList<>();
+        System.out.printf("%n%-20s %5s %16s %16s %22s %22s%n", "mode", "runs", "ready p50 ms", "ready min ms",
+                "first request p50 ms", "first request min ms");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] ready = new long[runs];
+            long[] firstRequest = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                long[] times = benchmark.measure(mode.getValue(), new File(faststartDir, mode.getKey().replace('+', '-') + ".log"));
+                ready[run] = times[0];
+                firstRequest[run] = times[1];
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("mode", mode.getKey());
+            row.put("runs", runs);
+            row.put("readyMedianMillis", median(ready));
+            row.put("readyMinMillis", Arrays.stream(ready).min().orElse(0));
+            row.put("firstRequestMedianMillis", median(firstRequest));
+            row.put("firstRequestMinMillis", Arrays.stream(firstRequest).min().orElse(0));
+            report.add(row);
+            System.out.printf("%-20s %5d %16d %16d %22d %22d%n", mode.getKey(), runs, row.get("readyMedianMillis"),
+                    row.get("readyMinMillis"), row.get("firstRequestMedianMillis"), row.get("firstRequestMinMillis"));
+        }
+
+        File reportFile = new File(jar.getParentFile(), "startup-report.json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+    }
+
+    /**
+     * Arranca un proceso y devuelve los milisegundos hasta la primera respuesta del servidor y hasta la primera
+     * respuesta de la API.
+     */
+    private long[] measure(List<String> command, File log) throws Exception {
+        int port = freePort();
+        List<String> fullCommand = new ArrayList<>(command);
+        fullCommand.add("--server.port=" + port);
+        String baseUrl = "http://localhost:" + port;
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(fullCommand)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            String username = "startup-" + System.currentTimeMillis();
+            HttpResponse<String> registered = null;
+            while (registered == null) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited during startup, see " + log);
+                }
+                if (System.nanoTime() - start > STARTUP_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException("The application did not start in " + STARTUP_TIMEOUT + ", see " + log);
+                }
+                try {
+                    registered = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/register"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"username\":\"" + username + "\",\"password\":\"startup\"}"))
+                            .build(), HttpResponse.BodyHandlers.ofString());
+                } catch (ConnectException e) {
+                    TimeUnit.MILLISECONDS.sleep(20);
+                }
+            }
+            long ready = System.nanoTime();
+
+            String token = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login?username="
+                            + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&password=startup"))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build(), HttpResponse.BodyHandlers.ofString()).body();
+            HttpResponse<Void> first = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/productlines"))
+                    .header("Authorization", token)
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (first.statusCode() != 200) {
+                throw new IllegalStateException("GET /api/productlines returned " + first.statusCode() + ", see " + log);
+            }
+            long firstRequest = System.nanoTime();
+            return new long[] { TimeUnit.NANOSECONDS.toMillis(ready - start), TimeUnit.NANOSECONDS.toMillis(firstRequest - start) };
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,80 @@
+package com.JuanGreenGarden.Gardening.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara el resultado JSON de JMH con el de una ejecución anterior.
+ *
+ * Uso: {@code BenchmarkComparison <resultado> <umbral %> [<referencia>]}. Sin fichero de referencia solo muestra
+ * los resultados. Con él, termina con código 1 si algún benchmark empeora más del umbral.
+ */
+public final class BenchmarkComparison {
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, JsonNode> current = read(new File(args[0]));
+        double threshold = Double.parseDouble(args[1]);
+
+        if (args.length < 3 || args[2].isBlank()) {
+            current.forEach((key, result) -> System.out.printf("%-90s %14.3f %s%n", key,
+                    result.path("primaryMetric").path("score").asDouble(),
+                    result.path("primaryMetric").path("scoreUnit").asText()));
+            System.out.println("No baseline given (-Djmh.baseline=<file>), nothing to compare");
+            return;
+        }
+
+        Map<String, JsonNode> baseline = read(new File(args[2]));
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %s%n", entry.getKey(), "new");
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            // En modo throughput más es mejor; en el resto (tiempo medio, muestreo) menos es mejor
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = (newScore - oldScore) / oldScore * 100;
+            double worse = higherIsBetter ? -change : change;
+            boolean regression = worse > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f -> %14.3f %s (%+.1f%%)%s%n", entry.getKey(), oldScore, newScore,
+                    entry.getValue().path("primaryMetric").path("scoreUnit").asText(), change,
+                    regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Lee un fichero de resultados y lo indexa por nombre del benchmark y valores de sus parámetros.
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
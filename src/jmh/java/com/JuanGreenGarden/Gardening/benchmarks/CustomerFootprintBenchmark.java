@@ -0,0 +1,114 @@
+package com.JuanGreenGarden.Gardening.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.JuanGreenGarden.Gardening.persistence.converter.SharedStringConverter;
+import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
+
+/**
+ * Memoria que ocupa un listado de clientes leído de la base de datos, con y sin {@link SharedStringConverter} en la
+ * ciudad, la región y el país.
+ *
+ * Cada texto de la fila se copia en una cadena nueva, como hace el driver JDBC, y con {@code dictionary=true} los
+ * de esas tres columnas pasan además por el conversor, como hace Hibernate al cargar la entidad. La métrica
+ * secundaria {@code retainedMB} es la memoria que sigue ocupada por el listado después de un GC; el tiempo incluye
+ * esos GC, así que solo sirve para comparar las dos variantes entre sí.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g", "-XX:+UseSerialGC" })
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+public class CustomerFootprintBenchmark {
+
+    private static final String[] COUNTRIES = { "Spain", "France", "USA", "Australia", "United Kingdom", "Portugal",
+            "Italy", "Germany", "Mexico", "Argentina" };
+
+    @Param({ "1000000" })
+    private int customers;
+
+    @Param({ "false", "true" })
+    private boolean dictionary;
+
+    private final SharedStringConverter converter = new SharedStringConverter();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private List<Customer> loaded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public double retainedMB;
+    }
+
+    @Setup(Level.Iteration)
+    public void release() {
+        loaded = null;
+    }
+
+    @Benchmark
+    public List<Customer> loadCustomers(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        SplittableRandom random = new SplittableRandom(Fixtures.SEED);
+        List<Customer> result = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            int country = random.nextInt(COUNTRIES.length);
+            int region = country * 10 + random.nextInt(10);
+            Customer customer = new Customer();
+            customer.setCustomerNumber(i);
+            customer.setCustomerName(read("Cliente " + i));
+            customer.setContactFirstName(read("Nombre" + random.nextInt(100)));
+            customer.setContactLastName(read("Apellido" + random.nextInt(100)));
+            customer.setPhone(read("5556901745"));
+            customer.setFax(read("5556901746"));
+            customer.setAddressLine1(read("Calle " + random.nextInt(300)));
+            customer.setCity(readShared("Ciudad " + (region * 10 + random.nextInt(10))));
+            customer.setRegion(readShared("Region " + region));
+            customer.setCountry(readShared(COUNTRIES[country]));
+            customer.setPostalCode(read(String.valueOf(10000 + random.nextInt(90000))));
+            customer.setCreditLimit(BigDecimal.valueOf(500L * (1 + random.nextInt(100))));
+            result.add(customer);
+        }
+        loaded = result;
+        footprint.retainedMB = (usedHeapAfterGc() - before) / (1024.0 * 1024.0);
+        return result;
+    }
+
+    /**
+     * Una cadena nueva con el texto, como la que crea el driver al leer una columna.
+     */
+    private static String read(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private String readShared(String value) {
+        String column = read(value);
+        return dictionary ? converter.convertToEntityAttribute(column) : column;
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,132 @@
+package com.JuanGreenGarden.Gardening.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.JuanGreenGarden.Gardening.domain.repository.OfficeRepository;
+import com.JuanGreenGarden.Gardening.domain.service.OfficeService;
+import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
+import com.JuanGreenGarden.Gardening.persistence.entity.CustomerSalesRepDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.Employee;
+import com.JuanGreenGarden.Gardening.persistence.entity.Office;
+import com.JuanGreenGarden.Gardening.persistence.entity.Order;
+import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
+import com.JuanGreenGarden.Gardening.persistence.entity.Payment;
+import com.JuanGreenGarden.Gardening.persistence.entity.Product;
+import com.JuanGreenGarden.Gardening.persistence.entity.ProductLine;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.CustomerDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.EmployeeDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OfficeDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDetailDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductLineDTO;
+
+/**
+ * Conversión de entidades a DTO, tal como la hacen los servicios al devolver listados completos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EntityMappingBenchmark {
+
+    @Param({ "1000" })
+    private int size;
+
+    private List<Customer> customers;
+    private List<Employee> employees;
+    private List<Office> offices;
+    private List<Order> orders;
+    private List<OrderDetail> orderDetails;
+    private List<Payment> payments;
+    private List<Product> products;
+    private List<ProductLine> productLines;
+    private List<Object[]> officeRows;
+    private Map<String, Integer> officeColumns;
+    private OfficeService officeService;
+
+    @Setup
+    public void setUp() {
+        customers = Fixtures.customers(size);
+        employees = Fixtures.employees(size);
+        offices = Fixtures.offices(size);
+        orders = Fixtures.orders(size);
+        orderDetails = Fixtures.orderDetails(size);
+        payments = Fixtures.payments(size);
+        products = Fixtures.products(size);
+        productLines = Fixtures.productLines(size);
+        officeRows = Fixtures.officeRows(size);
+        officeColumns = Fixtures.officeColumns();
+        officeService = new OfficeService(Fixtures.unused(OfficeRepository.class));
+    }
+
+    @Benchmark
+    public List<CustomerDTO> customerToDTO() {
+        return customers.stream().map(Customer::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> employeeToDTO() {
+        return employees.stream().map(Employee::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<OfficeDTO> officeToDTO() {
+        return offices.stream().map(Office::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<OrderDTO> orderToDTO() {
+        return orders.stream().map(Order::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<OrderDetailDTO> orderDetailToDTO() {
+        return orderDetails.stream().map(OrderDetail::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<PaymentDTO> paymentToDTO() {
+        return payments.stream().map(Payment::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<ProductDTO> productToDTO() {
+        return products.stream().map(Product::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<ProductLineDTO> productLineToDTO() {
+        return productLines.stream().map(ProductLine::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<CustomerSalesRepDTO> customerSalesRepFromCustomers() {
+        return CustomerSalesRepDTO.fromCustomers(customers);
+    }
+
+    /**
+     * Mide {@code OfficeService.convertToObject}, que es privado, a través del método público que lo aplica a cada fila.
+     */
+    @Benchmark
+    public List<OfficeDTO> officeConvertToObject() {
+        return officeService.getOfficeDTOListFromObjectArray(officeRows, officeColumns);
+    }
+}
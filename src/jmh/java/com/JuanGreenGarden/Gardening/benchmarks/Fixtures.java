@@ -0,0 +1,243 @@
+package com.JuanGreenGarden.Gardening.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import com.JuanGreenGarden.Gardening.domain.repository.StatelessReadRepository;
+import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
+import com.JuanGreenGarden.Gardening.persistence.entity.Employee;
+import com.JuanGreenGarden.Gardening.persistence.entity.Office;
+import com.JuanGreenGarden.Gardening.persistence.entity.Order;
+import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
+import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetailId;
+import com.JuanGreenGarden.Gardening.persistence.entity.Payment;
+import com.JuanGreenGarden.Gardening.persistence.entity.Product;
+import com.JuanGreenGarden.Gardening.persistence.entity.ProductLine;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Datos sintéticos en memoria para los benchmarks. Siempre se generan con la misma semilla,
+ * así que dos ejecuciones miden exactamente los mismos datos.
+ */
+final class Fixtures {
+
+    static final long SEED = 42L;
+
+    private static final String[] PREFIXES = { "OR", "FR", "AR", "11", "22", "30" };
+    private static final String[] CITIES = { "Madrid", "Fuenlabrada", "Barcelona", "San Francisco", "Paris", "Sydney" };
+
+    private Fixtures() {
+    }
+
+    /**
+     * Códigos de producto con prefijos variados, para que el filtro por prefijo descarte parte de las filas.
+     */
+    static String[] productCodes(int count) {
+        String[] codes = new String[count];
+        for (int i = 0; i < count; i++) {
+            codes[i] = PREFIXES[i % PREFIXES.length] + "-" + i;
+        }
+        return codes;
+    }
+
+    /**
+     * Filas con la forma que devuelve la consulta de totales de línea: código de producto, cantidad y precio por unidad.
+     */
+    static List<Object[]> lineTotals(int lines, String[] productCodes) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Object[]> rows = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            rows.add(new Object[] { productCodes[random.nextInt(productCodes.length)], 1 + random.nextInt(50),
+                    (double) (1 + random.nextInt(300)) });
+        }
+        return rows;
+    }
+
+    /**
+     * Un {@link StatelessReadRepository} que recorre filas en memoria en lugar de ir a la base de datos.
+     * Aplica el filtro por prefijo cuando la consulta lo lleva, como hace {@code calcularBaseImponiblePorProductoFiltrado}.
+     */
+    static StatelessReadRepository inMemoryReader(List<Object[]> rows) {
+        return new StatelessReadRepository(unused(EntityManagerFactory.class), 1000) {
+            @Override
+            public void forEachRow(String hql, Map<String, Object> parameters, Consumer<Object[]> rowHandler) {
+                Object prefix = parameters.get("prefix");
+                for (Object[] row : rows) {
+                    if (prefix == null || ((String) row[0]).startsWith((String) prefix)) {
+                        rowHandler.accept(row);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Una implementación de la interfaz que falla si se usa. Sirve para los repositorios que el código medido no toca.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T unused(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getName().equals("unwrap")) {
+                return null;
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not available in benchmarks");
+        });
+    }
+
+    static List<Customer> customers(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer();
+            customer.setCustomerNumber(i);
+            customer.setCustomerName("Cliente " + i);
+            customer.setContactFirstName("Nombre" + random.nextInt(100));
+            customer.setContactLastName("Apellido" + random.nextInt(100));
+            customer.setPhone("5556901745");
+            customer.setFax("5556901746");
+            customer.setAddressLine1("Calle " + random.nextInt(300));
+            customer.setCity(CITIES[random.nextInt(CITIES.length)]);
+            customer.setCountry("Spain");
+            customer.setPostalCode("28945");
+            customer.setCreditLimit(BigDecimal.valueOf(500L * (1 + random.nextInt(100))));
+            customer.setEmployeeField(employee(random.nextInt(30)));
+            customers.add(customer);
+        }
+        return customers;
+    }
+
+    static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i));
+        }
+        return employees;
+    }
+
+    private static Employee employee(int id) {
+        Employee employee = new Employee();
+        employee.setEmployeeNumber(id);
+        employee.setFirstName("Empleado" + id);
+        employee.setLastName1("Apellido" + id);
+        employee.setLastName2("Segundo" + id);
+        employee.setExtension("2837");
+        employee.setEmail("empleado" + id + "@jardineria.es");
+        employee.setJobTitle("Representante Ventas");
+        return employee;
+    }
+
+    static List<Office> offices(int count) {
+        List<Office> offices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Office office = new Office();
+            office.setOfficeCode("OF-" + i);
+            office.setCity(CITIES[i % CITIES.length]);
+            office.setCountry("España");
+            office.setRegion("Madrid");
+            office.setPostalCode("28032");
+            office.setPhone("+34 91 7514487");
+            office.setAddressLine1("Bulevar Indalecio Prieto, " + i);
+            offices.add(office);
+        }
+        return offices;
+    }
+
+    /**
+     * Filas con las columnas de una oficina, en el orden de {@link #officeColumns()}.
+     */
+    static List<Object[]> officeRows(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (Office office : offices(count)) {
+            rows.add(new Object[] { office.getOfficeCode(), office.getCity(), office.getCountry(), office.getRegion(),
+                    office.getPostalCode(), office.getPhone(), office.getAddressLine1(), office.getAddressLine2() });
+        }
+        return rows;
+    }
+
+    static Map<String, Integer> officeColumns() {
+        return Map.of("officeCode", 0, "city", 1, "country", 2, "region", 3, "postalCode", 4, "phone", 5,
+                "address1", 6, "address2", 7);
+    }
+
+    static List<Order> orders(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Order> orders = new ArrayList<>(count);
+        long day = 24L * 60 * 60 * 1000;
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setOrderNumber(i);
+            Date ordered = new Date(1_200_000_000_000L + random.nextInt(1000) * day);
+            order.setOrderDate(ordered);
+            order.setRequiredDate(new Date(ordered.getTime() + 7 * day));
+            order.setShippedDate(new Date(ordered.getTime() + random.nextInt(14) * day));
+            order.setStatus("Entregado");
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static List<OrderDetail> orderDetails(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<OrderDetail> details = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderDetail detail = new OrderDetail();
+            detail.setOrderDetailId(new OrderDetailId(i / 5, i % 5 + 1));
+            detail.setQuantityOrdered(1 + random.nextInt(50));
+            detail.setPriceEach(1 + random.nextInt(300));
+            details.add(detail);
+        }
+        return details;
+    }
+
+    static List<Payment> payments(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Payment> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Payment payment = new Payment();
+            payment.setCustomerNumber(i);
+            payment.setTransactionId("ak-std-" + i);
+            payment.setPaymentDate(new Date(1_200_000_000_000L));
+            payment.setAmount(BigDecimal.valueOf(100L * (1 + random.nextInt(10_000)), 2));
+            payment.setPaymentMethod("PayPal");
+            payments.add(payment);
+        }
+        return payments;
+    }
+
+    static List<Product> products(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] codes = productCodes(count);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setProductCode(codes[i]);
+            product.setProductName("Producto " + i);
+            product.setProductScale("15-20");
+            product.setProductVendor("Viveros EL OASIS");
+            product.setProductDescription("Descripción del producto " + i);
+            product.setQuantityInStock(random.nextInt(500));
+            product.setBuyPrice(BigDecimal.valueOf(1 + random.nextInt(300)));
+            product.setMSRP(BigDecimal.valueOf(1 + random.nextInt(200)));
+            products.add(product);
+        }
+        return products;
+    }
+
+    static List<ProductLine> productLines(int count) {
+        List<ProductLine> productLines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ProductLine productLine = new ProductLine();
+            productLine.setProductLine("Gama " + i);
+            productLine.setTextDescription("Descripción de la gama " + i);
+            productLines.add(productLine);
+        }
+        return productLines;
+    }
+}
@@ -0,0 +1,66 @@
+package com.JuanGreenGarden.Gardening.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.JuanGreenGarden.Gardening.domain.security.Constants;
+import com.JuanGreenGarden.Gardening.domain.security.JWTAuthorizationConfig;
+import com.JuanGreenGarden.Gardening.domain.security.JWTAuthorizationFilter;
+
+import jakarta.servlet.ServletException;
+
+/**
+ * Creación del token en el login y validación en cada petición autenticada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    private JWTAuthorizationConfig config;
+    private JWTAuthorizationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        config = new JWTAuthorizationConfig();
+        filter = new JWTAuthorizationFilter();
+        token = config.getJWTToken("admin");
+    }
+
+    @Benchmark
+    public String createToken() {
+        return config.getJWTToken("admin");
+    }
+
+    /**
+     * Pasa una petición con el token por {@link JWTAuthorizationFilter}, que lo parsea, verifica la firma y fija la autenticación.
+     */
+    @Benchmark
+    public Object parseToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customers");
+        request.addHeader(Constants.HEADER_AUTHORIZACION_KEY, token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,79 @@
+package com.JuanGreenGarden.Gardening.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.JuanGreenGarden.Gardening.domain.repository.OrderDetailRepository;
+import com.JuanGreenGarden.Gardening.domain.service.OrderDetailService;
+import com.JuanGreenGarden.Gardening.persistence.entity.ProductBillingSummary;
+
+/**
+ * Cálculos de facturación de {@link OrderDetailService} sobre líneas de pedido en memoria.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderDetailBenchmark {
+
+    @Param({ "1000", "100000" })
+    private int lines;
+
+    @Param({ "5000" })
+    private int products;
+
+    private OrderDetailService service;
+    private Map<String, BigDecimal> baseImponiblePorProducto;
+    private Map<String, BigDecimal> ivaPorProducto;
+    private Map<String, BigDecimal> totalFacturadoPorProducto;
+
+    @Setup
+    public void setUp() {
+        List<Object[]> rows = Fixtures.lineTotals(lines, Fixtures.productCodes(products));
+        service = new OrderDetailService(Fixtures.unused(OrderDetailRepository.class), Fixtures.inMemoryReader(rows));
+        baseImponiblePorProducto = service.calcularBaseImponiblePorProducto();
+        ivaPorProducto = service.calcularIVAPorProducto(baseImponiblePorProducto);
+        totalFacturadoPorProducto = service.calcularTotalFacturadoPorProducto(baseImponiblePorProducto, ivaPorProducto);
+    }
+
+    @Benchmark
+    public BigDecimal calcularBaseImponible() {
+        return service.calcularBaseImponible();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> calcularBaseImponiblePorProducto() {
+        return service.calcularBaseImponiblePorProducto();
+    }
+
+    @Benchmark
+    public BigDecimal calcularBaseImponiblePorProductoFiltrado() {
+        return service.calcularBaseImponiblePorProductoFiltrado();
+    }
+
+    @Benchmark
+    public Map<String, ProductBillingSummary> getProductBillingSummary() {
+        return service.getProductBillingSummary();
+    }
+
+    @Benchmark
+    public Map<String, ProductBillingSummary> productBillingSummaryFromMaps() {
+        return ProductBillingSummary.fromMaps(baseImponiblePorProducto, ivaPorProducto, totalFacturadoPorProducto);
+    }
+}
@@ -0,0 +1,313 @@
+package com.JuanGreenGarden.Gardening.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.JuanGreenGarden.Gardening.GardeningApplication;
+import com.JuanGreenGarden.Gardening.domain.datagen.SyntheticDataGenerator;
+import com.JuanGreenGarden.Gardening.domain.datagen.SyntheticDataProperties;
+import com.JuanGreenGarden.Gardening.loadtest.LoadTestSettings.Endpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Prueba de carga de la API completa: arranca la aplicación contra Postgres embebido con datos sintéticos,
+ * inicia sesión y lanza la mezcla de peticiones de {@code loadtest.properties} desde varios usuarios virtuales.
+ *
+ * Informa de p50, p99 y p999 por endpoint (también en {@code target/loadtest-report.json}) y falla si alguno
+ * supera su presupuesto de latencia o de errores. Postgres embebido no arranca como root.
+ */
+class ApiLoadTest {
+
+    private static final Map<String, String> ID_QUERIES = Map.of(
+            "customer", "SELECT codigo_cliente FROM cliente",
+            "order", "SELECT codigo_pedido FROM pedido",
+            "product", "SELECT codigo_producto FROM producto",
+            "office", "SELECT codigo_oficina FROM oficina",
+            "employee", "SELECT codigo_empleado FROM empleado");
+
+    private static final String[] PERCENTILES = { "p50", "p99", "p999" };
+
+    private static LoadTestSettings settings;
+    private static EmbeddedPostgres postgres;
+    private static ConfigurableApplicationContext application;
+    private static String baseUrl;
+    private static Map<String, List<String>> ids;
+
+    @BeforeAll
+    static void startApplication() throws Exception {
+        settings = LoadTestSettings.load();
+
+        String url = settings.get("jdbc-url");
+        String username = settings.get("username");
+        String password = settings.get("password");
+        if (url.isEmpty()) {
+            postgres = EmbeddedPostgres.builder().start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE DATABASE jardineria");
+            }
+            url = postgres.getJdbcUrl(username, "jardineria");
+        }
+
+        DataSource dataSource = new DriverManagerDataSource(url, username, password);
+        if (settings.getBoolean("seed")) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("data.sql"));
+            populator.setSqlScriptEncoding(StandardCharsets.UTF_8.name());
+            populator.execute(dataSource);
+            new SyntheticDataGenerator(dataSource, datagenProperties()).generate();
+        }
+        ids = loadIds(dataSource);
+
+        // Los argumentos de línea de comandos tienen prioridad sobre el perfil local de los tests
+        application = new SpringApplicationBuilder(GardeningApplication.class).run(
+                "--spring.profiles.active=loadtest",
+                "--server.port=0",
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--app.datasource.reporting.url=" + url,
+                "--logging.level.root=WARN");
+        baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void stopApplication() throws IOException {
+        if (application != null) {
+            application.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void apiStaysWithinLatencyBudget() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String token = login(client);
+
+        List<Endpoint> mix = settings.mix();
+        int[] cumulativeWeights = new int[mix.size()];
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        Map<String, LongAdder> errors = new HashMap<>();
+        int totalWeight = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            totalWeight += mix.get(i).weight();
+            cumulativeWeights[i] = totalWeight;
+            recorders.put(mix.get(i).name(), new Recorder(3));
+            errors.put(mix.get(i).name(), new LongAdder());
+        }
+
+        int users = settings.getInt("users");
+        long warmupNanos = TimeUnit.SECONDS.toNanos(settings.getInt("warmup-seconds"));
+        long durationNanos = TimeUnit.SECONDS.toNanos(settings.getInt("duration-seconds"));
+        long start = System.nanoTime();
+        long end = start + warmupNanos + durationNanos;
+        int weights = totalWeight;
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        for (int user = 0; user < users; user++) {
+            SplittableRandom random = new SplittableRandom(settings.getInt("random-seed") * 1_000_003L + user);
+            executor.execute(() -> {
+                while (System.nanoTime() < end) {
+                    Endpoint endpoint = pick(mix, cumulativeWeights, random.nextInt(weights));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + expand(endpoint.path(), random)))
+                            .header("Authorization", token)
+                            .timeout(Duration.ofSeconds(30))
+                            .GET()
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.get(endpoint.name()).increment();
+                        } else {
+                            recorders.get(endpoint.name()).recordValue((System.nanoTime() - sent) / 1_000);
+                        }
+                    } catch (IOException e) {
+                        errors.get(endpoint.name()).increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+
+        // Lo medido durante el calentamiento se descarta
+        TimeUnit.NANOSECONDS.sleep(warmupNanos);
+        recorders.values().forEach(Recorder::getIntervalHistogram);
+        errors.values().forEach(LongAdder::reset);
+
+        executor.shutdown();
+        if (!executor.awaitTermination(durationNanos + TimeUnit.SECONDS.toNanos(60), TimeUnit.NANOSECONDS)) {
+            executor.shutdownNow();
+        }
+        double seconds = durationNanos / 1_000_000_000.0;
+
+        List<Map<String, Object>> report = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+        double maxErrorRate = settings.getDouble("budget.error-rate");
+        System.out.printf("%n%-26s %9s %9s %10s %10s %10s %10s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        for (Endpoint endpoint : mix) {
+            Histogram histogram = recorders.get(endpoint.name()).getIntervalHistogram();
+            long failed = errors.get(endpoint.name()).sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.name());
+            row.put("path", endpoint.path());
+            row.put("requests", histogram.getTotalCount());
+            row.put("requestsPerSecond", histogram.getTotalCount() / seconds);
+            row.put("p50", millis(histogram.getValueAtPercentile(50)));
+            row.put("p99", millis(histogram.getValueAtPercentile(99)));
+            row.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            row.put("max", millis(histogram.getMaxValue()));
+            row.put("errors", failed);
+            report.add(row);
+            System.out.printf("%-26s %9d %9.1f %10.1f %10.1f %10.1f %10.1f %7d%n", endpoint.name(),
+                    histogram.getTotalCount(), row.get("requestsPerSecond"), row.get("p50"), row.get("p99"),
+                    row.get("p999"), row.get("max"), failed);
+
+            if (histogram.getTotalCount() == 0) {
+                violations.add(endpoint.name() + ": no successful requests");
+                continue;
+            }
+            for (String percentile : PERCENTILES) {
+                OptionalDouble budget = settings.budget(percentile, endpoint.name());
+                double value = (double) row.get(percentile);
+                if (budget.isPresent() && value > budget.getAsDouble()) {
+                    violations.add(String.format("%s: %s %.1f ms exceeds the budget of %.0f ms",
+                            endpoint.name(), percentile, value, budget.getAsDouble()));
+                }
+            }
+            double errorRate = (double) failed / (histogram.getTotalCount() + failed);
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format("%s: error rate %.4f exceeds %.4f", endpoint.name(), errorRate, maxErrorRate));
+            }
+        }
+
+        File reportFile = new File("target/loadtest-report.json");
+        reportFile.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+        System.out.println("Report written to " + reportFile.getAbsolutePath());
+
+        if (!violations.isEmpty()) {
+            fail("Latency budget exceeded:\n" + String.join("\n", violations));
+        }
+    }
+
+    private static String login(HttpClient client) throws IOException, InterruptedException {
+        // Un usuario nuevo en cada ejecución, por si la base de datos se reutiliza
+        String username = "loadtest-" + System.currentTimeMillis();
+        String password = "loadtest";
+        HttpResponse<String> registered = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, registered.statusCode(), "register failed: " + registered.body());
+
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login?username="
+                        + URLEncoder.encode(username, StandardCharsets.UTF_8) + "&password="
+                        + URLEncoder.encode(password, StandardCharsets.UTF_8)))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode(), "login failed: " + login.body());
+        return login.body();
+    }
+
+    private static Endpoint pick(List<Endpoint> mix, int[] cumulativeWeights, int value) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return mix.get(i);
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private static String expand(String path, SplittableRandom random) {
+        String expanded = path;
+        for (Map.Entry<String, List<String>> entry : ids.entrySet()) {
+            String placeholder = "{" + entry.getKey() + "}";
+            if (expanded.contains(placeholder)) {
+                List<String> values = entry.getValue();
+                String id = values.get(random.nextInt(values.size()));
+                expanded = expanded.replace(placeholder, URLEncoder.encode(id, StandardCharsets.UTF_8));
+            }
+        }
+        return expanded;
+    }
+
+    private static Map<String, List<String>> loadIds(DataSource dataSource) throws Exception {
+        Map<String, List<String>> result = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (Map.Entry<String, String> query : ID_QUERIES.entrySet()) {
+                List<String> values = new ArrayList<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery(query.getValue())) {
+                    while (rows.next()) {
+                        values.add(rows.getString(1));
+                    }
+                }
+                result.put(query.getKey(), values);
+            }
+        }
+        return result;
+    }
+
+    private static SyntheticDataProperties datagenProperties() {
+        Map<String, String> values = new HashMap<>();
+        settings.withPrefix("datagen.").forEach((key, value) -> values.put("app.datagen." + key, value));
+        SyntheticDataProperties properties = new SyntheticDataProperties();
+        new Binder(new MapConfigurationPropertySource(values)).bind("app.datagen", Bindable.ofInstance(properties));
+        return properties;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.JuanGreenGarden.Gardening.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Configuración de la prueba de carga: {@code loadtest.properties} del classpath, con los valores que se
+ * pasen como propiedades del sistema {@code -Dloadtest.<clave>} por encima.
+ */
+final class LoadTestSettings {
+
+    private static final String SYSTEM_PREFIX = "loadtest.";
+
+    private final Properties properties;
+
+    private LoadTestSettings(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestSettings load() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(SYSTEM_PREFIX))
+                .forEach(name -> properties.setProperty(name.substring(SYSTEM_PREFIX.length()), System.getProperty(name)));
+        return new LoadTestSettings(properties);
+    }
+
+    String get(String key) {
+        return properties.getProperty(key, "").trim();
+    }
+
+    int getInt(String key) {
+        return Integer.parseInt(get(key));
+    }
+
+    double getDouble(String key) {
+        return Double.parseDouble(get(key));
+    }
+
+    boolean getBoolean(String key) {
+        return Boolean.parseBoolean(get(key));
+    }
+
+    /**
+     * Devuelve las claves que empiezan por el prefijo, sin él.
+     */
+    Map<String, String> withPrefix(String prefix) {
+        Map<String, String> values = new TreeMap<>();
+        properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(prefix))
+                .forEach(name -> values.put(name.substring(prefix.length()), get(name)));
+        return values;
+    }
+
+    /**
+     * Obtiene la mezcla de peticiones, ordenada por nombre. Las entradas con peso 0 se ignoran, así que
+     * {@code -Dloadtest.mix.<nombre>=0} basta para quitar un endpoint.
+     */
+    List<Endpoint> mix() {
+        List<Endpoint> endpoints = new ArrayList<>();
+        withPrefix("mix.").forEach((name, value) -> {
+            String[] parts = value.split("\\s+", 2);
+            if (parts.length == 1 && Integer.parseInt(parts[0]) == 0) {
+                return;
+            }
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("mix." + name + " must be '<weight> <path>' but was '" + value + "'");
+            }
+            int weight = Integer.parseInt(parts[0]);
+            if (weight > 0) {
+                endpoints.add(new Endpoint(name, weight, parts[1].trim()));
+            }
+        });
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("The request mix is empty");
+        }
+        return endpoints;
+    }
+
+    /**
+     * Obtiene el presupuesto de un percentil para un endpoint: primero el suyo y, si no tiene, el general.
+     *
+     * @param percentile El percentil, por ejemplo {@code p99}.
+     * @param endpoint   El nombre del endpoint en la mezcla.
+     */
+    OptionalDouble budget(String percentile, String endpoint) {
+        String value = get("budget." + percentile + "." + endpoint);
+        if (value.isEmpty()) {
+            value = get("budget." + percentile);
+        }
+        return value.isEmpty() ? OptionalDouble.empty() : OptionalDouble.of(Double.parseDouble(value));
+    }
+
+    record Endpoint(String name, int weight, String path) {
+    }
+}
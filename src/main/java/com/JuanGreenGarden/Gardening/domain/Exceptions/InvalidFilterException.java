@@ -0,0 +1,8 @@
+package com.JuanGreenGarden.Gardening.domain.Exceptions;
+
+public class InvalidFilterException extends RuntimeException {
+
+    public InvalidFilterException(String message){
+        super(message);
+    }
+}
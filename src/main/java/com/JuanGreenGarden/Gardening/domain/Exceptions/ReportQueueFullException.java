@@ -0,0 +1,8 @@
+package com.JuanGreenGarden.Gardening.domain.Exceptions;
+
+public class ReportQueueFullException extends RuntimeException {
+    
+    public ReportQueueFullException(String message){
+        super(message);
+    }
+}
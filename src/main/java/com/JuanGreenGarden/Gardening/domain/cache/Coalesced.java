@@ -0,0 +1,19 @@
+package com.JuanGreenGarden.Gardening.domain.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un método de servicio caro cuyas llamadas simultáneas con los mismos argumentos pueden compartir
+ * una sola ejecución. Lo aplica {@link CoalescingAspect}.
+ *
+ * Todas las llamadas reciben el mismo objeto, así que el resultado no se debe modificar.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+}
@@ -0,0 +1,121 @@
+package com.JuanGreenGarden.Gardening.domain.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Junta las llamadas simultáneas a un mismo método {@link Coalesced} con los mismos argumentos: la primera
+ * ejecuta el método y las que llegan mientras tanto esperan su resultado en lugar de repetir la consulta.
+ * Si la ejecución falla, todas reciben la misma excepción. Las llamadas que llegan después de terminar
+ * ejecutan el método de nuevo; no se guarda ningún resultado.
+ *
+ * Va por fuera de {@code WorkloadAspect} y de la transacción, así que las llamadas que esperan no ocupan
+ * ninguna conexión. Métricas, etiquetadas por método:
+ * <ul>
+ * <li>{@code service.coalesced.calls}: llamadas, con {@code role} {@code leader} si ejecutó el método y
+ * {@code waiter} si esperó a otra.</li>
+ * <li>{@code service.coalesced.waiters}: llamadas que compartieron cada ejecución.</li>
+ * <li>{@code service.coalesced.saved}: segundos de ejecución ahorrados, la duración de cada ejecución por las
+ * llamadas que la esperaron.</li>
+ * <li>{@code service.coalesced.in-flight}: ejecuciones en curso.</li>
+ * </ul>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 50)
+public class CoalescingAspect {
+
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public CoalescingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("service.coalesced.in-flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    @Around("@annotation(com.JuanGreenGarden.Gardening.domain.cache.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        Key key = new Key(method, Arrays.asList(joinPoint.getArgs()));
+
+        Flight flight = new Flight();
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            leader.waiters.incrementAndGet();
+            calls(name, "waiter").increment();
+            return await(leader.result);
+        }
+
+        calls(name, "leader").increment();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            flight.result.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Primero se saca del mapa: una llamada que llegue ahora ya no se puede sumar a esta ejecución
+            inFlight.remove(key, flight);
+            int waiters = flight.waiters.get();
+            DistributionSummary.builder("service.coalesced.waiters")
+                    .tag("method", name)
+                    .register(meterRegistry)
+                    .record(waiters);
+            if (waiters > 0) {
+                Counter.builder("service.coalesced.saved")
+                        .baseUnit("seconds")
+                        .tag("method", name)
+                        .register(meterRegistry)
+                        .increment(waiters * (System.nanoTime() - start) / 1_000_000_000.0);
+            }
+        }
+    }
+
+    private Counter calls(String name, String role) {
+        return Counter.builder("service.coalesced.calls")
+                .tag("method", name)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private static Object await(CompletableFuture<Object> result) throws Throwable {
+        try {
+            return result.get();
+        } catch (ExecutionException | CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record Key(Method method, List<Object> args) {
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
@@ -0,0 +1,26 @@
+package com.JuanGreenGarden.Gardening.domain.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un reporte cuyo resultado puede tener unos minutos de antigüedad. Lo aplica
+ * {@link StaleWhileRevalidateAspect}.
+ *
+ * Los plazos de cada reporte se leen de {@code app.reports.stale-while-revalidate.<nombre>.soft-ttl} y
+ * {@code .hard-ttl}, y si no están, de {@code app.reports.stale-while-revalidate.default.*}. Todas las
+ * llamadas reciben el mismo objeto, así que el resultado no se debe modificar.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StaleWhileRevalidate {
+
+    /**
+     * El nombre del reporte en las propiedades y en las métricas.
+     */
+    String value();
+}
@@ -0,0 +1,173 @@
+package com.JuanGreenGarden.Gardening.domain.cache;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Guarda el resultado de los reportes {@link StaleWhileRevalidate} y lo sirve según su antigüedad:
+ * <ul>
+ * <li>Por debajo del plazo blando se devuelve tal cual.</li>
+ * <li>Entre el plazo blando y el duro se devuelve igualmente y se lanza en segundo plano un único recálculo
+ * para ese reporte y esos argumentos. Si el recálculo falla, se sigue sirviendo el resultado anterior y se
+ * vuelve a intentar en la siguiente llamada.</li>
+ * <li>Por encima del plazo duro, o si no hay resultado, se calcula en la llamada.</li>
+ * </ul>
+ * La antigüedad se cuenta desde que empezó el cálculo. Va por fuera de {@link CoalescingAspect}, así que
+ * los cálculos en la llamada de un método que además sea {@link Coalesced} se siguen juntando.
+ *
+ * Métricas, etiquetadas por reporte: {@code service.swr.calls} con {@code result} {@code fresh}, {@code stale}
+ * o {@code miss}, y {@code service.swr.refreshes} con {@code result} {@code success} o {@code failure}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 40)
+public class StaleWhileRevalidateAspect {
+
+    private static final Logger log = LoggerFactory.getLogger(StaleWhileRevalidateAspect.class);
+    private static final String PREFIX = "app.reports.stale-while-revalidate.";
+
+    private final Map<Key, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<Method, Policy> policies = new ConcurrentHashMap<>();
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Duration defaultSoftTtl;
+    private final Duration defaultHardTtl;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    @Autowired
+    public StaleWhileRevalidateAspect(Environment environment, MeterRegistry meterRegistry,
+                                      @Value("${" + PREFIX + "default.soft-ttl:2m}") Duration defaultSoftTtl,
+                                      @Value("${" + PREFIX + "default.hard-ttl:30m}") Duration defaultHardTtl,
+                                      @Value("${" + PREFIX + "refresh-threads:2}") int refreshThreads) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultSoftTtl = defaultSoftTtl;
+        this.defaultHardTtl = defaultHardTtl;
+        this.refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(20),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Around("@annotation(staleWhileRevalidate)")
+    public Object serve(ProceedingJoinPoint joinPoint, StaleWhileRevalidate staleWhileRevalidate) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Policy policy = policies.computeIfAbsent(method, key -> policy(staleWhileRevalidate.value()));
+        Slot slot = slots.computeIfAbsent(new Key(method, Arrays.asList(joinPoint.getArgs())), key -> new Slot());
+
+        Entry entry = slot.entry;
+        if (entry != null) {
+            long age = System.nanoTime() - entry.computedAt();
+            if (age < policy.softTtl().toNanos()) {
+                calls(policy.report(), "fresh").increment();
+                return entry.value();
+            }
+            if (age < policy.hardTtl().toNanos()) {
+                calls(policy.report(), "stale").increment();
+                refresh(joinPoint, slot, policy);
+                return entry.value();
+            }
+        }
+
+        calls(policy.report(), "miss").increment();
+        long start = System.nanoTime();
+        Object value = joinPoint.proceed();
+        slot.entry = new Entry(value, start);
+        return value;
+    }
+
+    private void refresh(ProceedingJoinPoint joinPoint, Slot slot, Policy policy) {
+        if (!slot.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    slot.entry = new Entry(joinPoint.proceed(), start);
+                    refreshes(policy.report(), "success").increment();
+                } catch (Throwable e) {
+                    refreshes(policy.report(), "failure").increment();
+                    log.warn("Could not refresh report {}, serving the previous result", policy.report(), e);
+                } finally {
+                    slot.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slot.refreshing.set(false);
+        }
+    }
+
+    private Policy policy(String report) {
+        Duration softTtl = environment.getProperty(PREFIX + report + ".soft-ttl", Duration.class, defaultSoftTtl);
+        Duration hardTtl = environment.getProperty(PREFIX + report + ".hard-ttl", Duration.class, defaultHardTtl);
+        if (hardTtl.compareTo(softTtl) < 0) {
+            throw new IllegalStateException("The hard TTL of report " + report + " (" + hardTtl
+                    + ") is shorter than its soft TTL (" + softTtl + ")");
+        }
+        return new Policy(report, softTtl, hardTtl);
+    }
+
+    private Counter calls(String report, String result) {
+        return Counter.builder("service.swr.calls")
+                .tag("report", report)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter refreshes(String report, String result) {
+        return Counter.builder("service.swr.refreshes")
+                .tag("report", report)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Key(Method method, List<Object> args) {
+    }
+
+    private record Policy(String report, Duration softTtl, Duration hardTtl) {
+    }
+
+    private record Entry(Object value, long computedAt) {
+    }
+
+    private static final class Slot {
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile Entry entry;
+    }
+}
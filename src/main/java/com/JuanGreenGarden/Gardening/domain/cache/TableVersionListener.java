@@ -0,0 +1,91 @@
+package com.JuanGreenGarden.Gardening.domain.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+
+/**
+ * Sube la versión de la tabla de cada entidad que Hibernate inserta, actualiza o borra.
+ *
+ * Se usan los eventos posteriores al commit: si la versión subiera antes, una petición concurrente podría
+ * leer los datos antiguos y guardarlos con la versión nueva. Las escrituras que se deshacen no cuentan.
+ */
+@Component
+public class TableVersionListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TableVersionRegistry tableVersions;
+    private final Map<Class<?>, String> tables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TableVersionListener(EntityManagerFactory entityManagerFactory, TableVersionRegistry tableVersions) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.tableVersions = tableVersions;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        tableVersions.bump(table(event.getPersister()));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        tableVersions.bump(table(event.getPersister()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        tableVersions.bump(table(event.getPersister()));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private String table(EntityPersister persister) {
+        return tables.computeIfAbsent(persister.getMappedClass(), type -> {
+            Table table = type.getAnnotation(Table.class);
+            return table != null && !table.name().isEmpty() ? table.name() : persister.getEntityName();
+        });
+    }
+}
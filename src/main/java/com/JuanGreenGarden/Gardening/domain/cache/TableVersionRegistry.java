@@ -0,0 +1,81 @@
+package com.JuanGreenGarden.Gardening.domain.cache;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Lleva un contador de versión por tabla que sube cada vez que se confirma una escritura en ella, junto con
+ * el momento de esa última escritura.
+ *
+ * Las escrituras de Hibernate se registran solas con {@link TableVersionListener}; las que van por JDBC
+ * (COPY, INSERT ... SELECT) tienen que llamar a {@link #bump(String)} después del commit. Un resultado
+ * calculado con la versión leída antes de lanzar la consulta sigue siendo válido mientras esa versión no cambie.
+ *
+ * Los contadores viven en memoria y empiezan en 0 en cada arranque, por eso {@link #getEpoch()} identifica el
+ * arranque: una versión solo se puede comparar con otra del mismo. Hasta la primera escritura se toma como
+ * última modificación el momento del arranque.
+ */
+@Component
+public class TableVersionRegistry {
+
+    private final Map<String, TableVersion> versions = new ConcurrentHashMap<>();
+    private final long epoch = System.currentTimeMillis();
+
+    /**
+     * @return La versión actual de la tabla, 0 si no se ha escrito en ella desde el arranque.
+     */
+    public long version(String table) {
+        TableVersion version = versions.get(table);
+        return version != null ? version.counter.get() : 0;
+    }
+
+    /**
+     * Versión conjunta de varias tablas. Como cada contador solo sube, la suma cambia en cuanto cambia cualquiera.
+     */
+    public long version(String... tables) {
+        long version = 0;
+        for (String table : tables) {
+            version += version(table);
+        }
+        return version;
+    }
+
+    /**
+     * @return El momento de la última escritura confirmada en cualquiera de las tablas.
+     */
+    public Instant lastModified(String... tables) {
+        long lastModified = epoch;
+        for (String table : tables) {
+            TableVersion version = versions.get(table);
+            if (version != null) {
+                lastModified = Math.max(lastModified, version.lastModified);
+            }
+        }
+        return Instant.ofEpochMilli(lastModified);
+    }
+
+    /**
+     * @return El momento del arranque en milisegundos, que distingue las versiones de un arranque de las de otro.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Anota que se ha confirmado una escritura en la tabla.
+     */
+    public void bump(String table) {
+        TableVersion version = versions.computeIfAbsent(table, key -> new TableVersion());
+        version.lastModified = System.currentTimeMillis();
+        version.counter.incrementAndGet();
+    }
+
+    private static final class TableVersion {
+        private final AtomicLong counter = new AtomicLong();
+        private volatile long lastModified;
+    }
+}
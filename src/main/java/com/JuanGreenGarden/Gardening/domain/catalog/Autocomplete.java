@@ -0,0 +1,137 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.JuanGreenGarden.Gardening.domain.cache.TableVersionRegistry;
+import com.JuanGreenGarden.Gardening.domain.repository.CustomerRepository;
+
+/**
+ * Sugerencias por prefijo para los nombres de cliente, las ciudades de los clientes y los códigos de producto.
+ *
+ * Cada lista se guarda en un {@link PrefixIndex}: los nombres y las ciudades ordenados por número de clientes, y
+ * los códigos de producto en orden alfabético. Los índices se construyen en la primera consulta después de una
+ * escritura en las tablas de las que salen, igual que {@link ProductCatalog}; los clientes se leen con una
+ * sola consulta de dos columnas y los códigos salen del propio catálogo de productos.
+ */
+@Component
+public class Autocomplete {
+
+    private static final Logger log = LoggerFactory.getLogger(Autocomplete.class);
+
+    private final CustomerRepository customerRepository;
+    private final ProductCatalog productCatalog;
+    private final TableVersionRegistry tableVersions;
+
+    private final Source<CustomerIndexes> customers;
+    private final Source<PrefixIndex> productCodes;
+
+    @Autowired
+    public Autocomplete(CustomerRepository customerRepository, ProductCatalog productCatalog,
+                        TableVersionRegistry tableVersions) {
+        this.customerRepository = customerRepository;
+        this.productCatalog = productCatalog;
+        this.tableVersions = tableVersions;
+        this.customers = new Source<>(new String[] { "cliente" }, this::loadCustomers);
+        this.productCodes = new Source<>(new String[] { "producto", "gama_producto" }, this::loadProductCodes);
+    }
+
+    /**
+     * @return Los nombres de cliente que empiezan por el prefijo, sin distinguir mayúsculas ni tildes.
+     */
+    public List<String> customerNames(String prefix, int limit) {
+        return customers.get().names().suggest(prefix, limit);
+    }
+
+    /**
+     * @return Las ciudades de los clientes que empiezan por el prefijo, sin distinguir mayúsculas ni tildes,
+     *         de la que más clientes tiene a la que menos.
+     */
+    public List<String> cities(String prefix, int limit) {
+        return customers.get().cities().suggest(prefix, limit);
+    }
+
+    /**
+     * @return Los códigos de producto que empiezan por el prefijo, sin distinguir mayúsculas, en orden alfabético.
+     */
+    public List<String> productCodes(String prefix, int limit) {
+        return productCodes.get().suggest(prefix, limit);
+    }
+
+    /**
+     * Las ciudades que empiezan exactamente por un prefijo, distinguiendo mayúsculas, con su número de clientes.
+     *
+     * @return Pares con la ciudad y su número de clientes, en orden alfabético.
+     */
+    public List<Object[]> countCustomersByCityStartingWith(String prefix) {
+        return customers.get().cities().startingWith(prefix);
+    }
+
+    private CustomerIndexes loadCustomers() {
+        long start = System.nanoTime();
+        Map<String, Long> names = new HashMap<>();
+        Map<String, Long> cities = new HashMap<>();
+        for (Object[] row : customerRepository.findCustomerNamesAndCities()) {
+            names.merge((String) row[0], 1L, Long::sum);
+            cities.merge((String) row[1], 1L, Long::sum);
+        }
+        CustomerIndexes indexes = new CustomerIndexes(PrefixIndex.of(names), PrefixIndex.of(cities));
+        log.debug("Customer autocomplete loaded: {} names and {} cities in {} ms", indexes.names().size(),
+                indexes.cities().size(), (System.nanoTime() - start) / 1_000_000);
+        return indexes;
+    }
+
+    private PrefixIndex loadProductCodes() {
+        Map<String, Long> codes = new HashMap<>();
+        for (String code : productCatalog.productCodes()) {
+            codes.put(code, 1L);
+        }
+        return PrefixIndex.of(codes);
+    }
+
+    private record CustomerIndexes(PrefixIndex names, PrefixIndex cities) {
+    }
+
+    private record Versioned<T>(long version, T value) {
+    }
+
+    /**
+     * Un índice que se vuelve a construir cuando cambia la versión de sus tablas. La versión se toma antes de
+     * leer: si hay una escritura mientras tanto, la siguiente consulta vuelve a construirlo.
+     */
+    private final class Source<T> {
+
+        private final String[] tables;
+        private final Supplier<T> loader;
+        private volatile Versioned<T> current;
+
+        Source(String[] tables, Supplier<T> loader) {
+            this.tables = tables;
+            this.loader = loader;
+        }
+
+        T get() {
+            Versioned<T> loaded = current;
+            long version = tableVersions.version(tables);
+            if (loaded != null && loaded.version() == version) {
+                return loaded.value();
+            }
+            synchronized (this) {
+                loaded = current;
+                version = tableVersions.version(tables);
+                if (loaded == null || loaded.version() != version) {
+                    loaded = new Versioned<>(version, loader.get());
+                    current = loaded;
+                }
+                return loaded.value();
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.JuanGreenGarden.Gardening.domain.repository.ProductRepository;
+import com.JuanGreenGarden.Gardening.persistence.entity.Order;
+import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
+import com.JuanGreenGarden.Gardening.persistence.entity.Product;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Ranking de productos por unidades vendidas que se mantiene al escribir las líneas de pedido, en lugar de
+ * agrupar toda la tabla {@code detalle_pedido} en cada consulta.
+ *
+ * Guarda un contador de unidades por producto, el total y otro por mes de la fecha del pedido, y los
+ * {@code tracked} productos que más venden en un conjunto ordenado y acotado. Cada línea que Hibernate inserta,
+ * actualiza o borra suma o resta sus unidades después del commit; mientras las ventas solo suben, el conjunto
+ * acotado se mantiene con una comparación contra su último elemento, y si baja alguno de sus productos se
+ * vuelve a calcular a partir de los contadores.
+ *
+ * El ranking total con hasta {@code tracked} productos sale directamente de ese conjunto. Los de más productos,
+ * de una gama o de un rango de meses se calculan en la consulta con un montículo acotado a {@code k} sobre los
+ * contadores, sin ir a la base de datos.
+ *
+ * Los contadores se leen de la base de datos con una sola consulta agrupada la primera vez que se usan y
+ * cada vez que se llama a {@link #rebuild()}. Si una línea se confirma mientras dura esa lectura no se sabe si
+ * la consulta la ha visto, así que el resultado se usa para esa llamada y se vuelve a leer en la siguiente.
+ * Las escrituras que no pasan por Hibernate (COPY, SQL directo) tienen que llamar a {@link #rebuild()}.
+ */
+@Component
+public class BestSellerRanking implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BestSellerRanking.class);
+
+    private static final Comparator<Entry> BY_UNITS = Comparator.comparingLong(Entry::units).reversed()
+            .thenComparing(Entry::productCode);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final int tracked;
+
+    private final Object rebuildLock = new Object();
+    private Map<String, Long> totals = new HashMap<>();
+    private TreeMap<YearMonth, Map<String, Long>> byMonth = new TreeMap<>();
+    private final TreeSet<Entry> leaders = new TreeSet<>(BY_UNITS);
+    private final Map<String, Long> leaderUnits = new HashMap<>();
+    private boolean loaded;
+    private boolean rebuilding;
+    private boolean changedWhileRebuilding;
+
+    @Autowired
+    public BestSellerRanking(EntityManagerFactory entityManagerFactory, ProductRepository productRepository,
+                             ProductCatalog productCatalog,
+                             @Value("${app.reports.best-sellers.tracked:100}") int tracked) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
+        this.tracked = tracked;
+    }
+
+    /**
+     * Se registra delante de {@link com.JuanGreenGarden.Gardening.domain.cache.TableVersionListener}, para que
+     * el ranking ya esté al día cuando sube la versión de {@code detalle_pedido}.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.prependListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.prependListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Obtiene los productos que más unidades han vendido.
+     *
+     * @param k           El número de productos.
+     * @param productLine La gama de los productos, o null para todas.
+     * @param from        El primer mes, incluido, de la fecha de los pedidos, o null para no limitarlo.
+     * @param to          El último mes, incluido, de la fecha de los pedidos, o null para no limitarlo.
+     * @return Los productos con sus unidades vendidas, del que más vende al que menos. Los productos sin ventas
+     *         en el periodo no aparecen.
+     */
+    public List<Entry> top(int k, String productLine, YearMonth from, YearMonth to) {
+        Map<String, Long> units;
+        synchronized (rebuildLock) {
+            if (!isLoaded()) {
+                load();
+            }
+        }
+        synchronized (this) {
+            if (productLine == null && from == null && to == null && k <= tracked) {
+                List<Entry> result = new ArrayList<>(Math.min(k, leaders.size()));
+                Iterator<Entry> iterator = leaders.iterator();
+                while (iterator.hasNext() && result.size() < k) {
+                    result.add(iterator.next());
+                }
+                return result;
+            }
+            units = from == null && to == null ? new HashMap<>(totals) : unitsBetween(from, to);
+        }
+        Predicate<String> filter = productLine == null ? code -> true : code -> productLine.equals(productCatalog.productLineOf(code));
+        return top(units, k, filter);
+    }
+
+    /**
+     * Descarta los contadores y los vuelve a leer de la base de datos.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            load();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (!(event.getEntity() instanceof OrderDetail detail)) {
+            return;
+        }
+        apply(detail.getProductField(), detail.getOrderField(), detail.getQuantityOrdered());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof OrderDetail)) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            invalidate();
+            return;
+        }
+        String[] properties = event.getPersister().getPropertyNames();
+        Object[] state = event.getState();
+        int quantity = index(properties, "quantityOrdered");
+        int order = index(properties, "orderField");
+        int product = index(properties, "productField");
+        apply((Product) oldState[product], (Order) oldState[order], -(Integer) oldState[quantity]);
+        apply((Product) state[product], (Order) state[order], (Integer) state[quantity]);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (!(event.getEntity() instanceof OrderDetail detail)) {
+            return;
+        }
+        apply(detail.getProductField(), detail.getOrderField(), -detail.getQuantityOrdered());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == OrderDetail.class;
+    }
+
+    private synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private synchronized void invalidate() {
+        changedWhileRebuilding = rebuilding;
+        loaded = false;
+    }
+
+    /**
+     * Lee los contadores sin bloquear a los listeners durante la consulta. Solo se llama con {@code rebuildLock}.
+     */
+    private void load() {
+        synchronized (this) {
+            rebuilding = true;
+            changedWhileRebuilding = false;
+        }
+        long start = System.nanoTime();
+        List<Object[]> rows;
+        try {
+            rows = productRepository.findUnitsSoldByProductAndMonth();
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+            }
+        }
+        Map<String, Long> newTotals = new HashMap<>();
+        TreeMap<YearMonth, Map<String, Long>> newByMonth = new TreeMap<>();
+        for (Object[] row : rows) {
+            String productCode = (String) row[0];
+            long units = ((Number) row[3]).longValue();
+            newTotals.merge(productCode, units, Long::sum);
+            newByMonth.computeIfAbsent(YearMonth.of((Integer) row[1], (Integer) row[2]), month -> new HashMap<>())
+                    .merge(productCode, units, Long::sum);
+        }
+        synchronized (this) {
+            totals = newTotals;
+            byMonth = newByMonth;
+            rebuildLeaders();
+            loaded = !changedWhileRebuilding;
+        }
+        log.debug("Best seller ranking loaded: {} products, {} months in {} ms", newTotals.size(), newByMonth.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void apply(Product product, Order order, int units) {
+        if (!Hibernate.isInitialized(order)) {
+            invalidate();
+            return;
+        }
+        String productCode = product.getProductCode();
+        YearMonth month = YearMonth.from(toLocalDate(order.getOrderDate()));
+        synchronized (this) {
+            if (rebuilding) {
+                changedWhileRebuilding = true;
+            }
+            if (!loaded || units == 0) {
+                return;
+            }
+            Long total = add(totals, productCode, units);
+            Map<String, Long> monthUnits = byMonth.computeIfAbsent(month, key -> new HashMap<>());
+            add(monthUnits, productCode, units);
+            if (monthUnits.isEmpty()) {
+                byMonth.remove(month);
+            }
+            updateLeaders(productCode, total == null ? 0 : total, units > 0);
+        }
+    }
+
+    /**
+     * Mantiene el conjunto acotado tras cambiar las ventas de un producto. Si suben basta con comparar con el
+     * último; si bajan las de uno de sus productos, otro de fuera puede pasar a estar dentro y se recalcula.
+     */
+    private void updateLeaders(String productCode, long total, boolean increased) {
+        Long current = leaderUnits.get(productCode);
+        if (!increased) {
+            if (current != null) {
+                rebuildLeaders();
+            }
+            return;
+        }
+        Entry entry = new Entry(productCode, total);
+        if (current != null) {
+            leaders.remove(new Entry(productCode, current));
+        } else if (leaders.size() >= tracked) {
+            if (BY_UNITS.compare(entry, leaders.last()) > 0) {
+                return;
+            }
+            leaderUnits.remove(leaders.pollLast().productCode());
+        }
+        leaders.add(entry);
+        leaderUnits.put(productCode, total);
+    }
+
+    private void rebuildLeaders() {
+        leaders.clear();
+        leaderUnits.clear();
+        for (Entry entry : top(totals, tracked, code -> true)) {
+            leaders.add(entry);
+            leaderUnits.put(entry.productCode(), entry.units());
+        }
+    }
+
+    private Map<String, Long> unitsBetween(YearMonth from, YearMonth to) {
+        NavigableMap<YearMonth, Map<String, Long>> months = byMonth;
+        if (from != null) {
+            months = months.tailMap(from, true);
+        }
+        if (to != null) {
+            months = months.headMap(to, true);
+        }
+        Map<String, Long> units = new HashMap<>();
+        months.values().forEach(month -> month.forEach((code, sold) -> units.merge(code, sold, Long::sum)));
+        return units;
+    }
+
+    /**
+     * Los {@code k} productos con más unidades, con un montículo de mínimos que nunca pasa de {@code k} elementos.
+     */
+    private static List<Entry> top(Map<String, Long> units, int k, Predicate<String> filter) {
+        PriorityQueue<Entry> heap = new PriorityQueue<>(k + 1, BY_UNITS.reversed());
+        units.forEach((productCode, sold) -> {
+            if (filter.test(productCode)) {
+                heap.offer(new Entry(productCode, sold));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        });
+        List<Entry> result = new ArrayList<>(heap);
+        result.sort(BY_UNITS);
+        return result;
+    }
+
+    /**
+     * Suma las unidades al contador del producto y lo quita si se queda a cero.
+     *
+     * @return El nuevo valor del contador, o null si se ha quitado.
+     */
+    private static Long add(Map<String, Long> units, String productCode, long delta) {
+        return units.compute(productCode, (code, current) -> {
+            long updated = (current == null ? 0 : current) + delta;
+            return updated > 0 ? updated : null;
+        });
+    }
+
+    private static int index(String[] properties, String name) {
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("OrderDetail has no property " + name);
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    /**
+     * Un producto y sus unidades vendidas.
+     */
+    public record Entry(String productCode, long units) {
+    }
+}
@@ -0,0 +1,181 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de prefijos de solo lectura sobre una lista de valores con su número de apariciones.
+ *
+ * Los valores se guardan en arrays ordenados por su forma normalizada (minúsculas, sin tildes), así que los
+ * que empiezan por un prefijo ocupan un tramo contiguo que se localiza con dos búsquedas binarias. Sobre los
+ * recuentos hay un árbol de segmentos con la posición del máximo de cada intervalo: las {@code k} sugerencias
+ * más frecuentes de un tramo salen con un montículo de intervalos en O(k log n), sin recorrer el tramo entero
+ * aunque el prefijo sea de una sola letra.
+ */
+public final class PrefixIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final String[] keys;
+    private final String[] values;
+    private final long[] counts;
+    private final int[] tree;
+
+    private PrefixIndex(String[] keys, String[] values, long[] counts) {
+        this.keys = keys;
+        this.values = values;
+        this.counts = counts;
+        int n = values.length;
+        this.tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    /**
+     * Construye el índice. Los valores nulos se ignoran.
+     *
+     * @param counts Cada valor con su número de apariciones.
+     */
+    public static PrefixIndex of(Map<String, Long> counts) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.size());
+        List<String> folded = new ArrayList<>(counts.size());
+        counts.entrySet().stream()
+                .filter(entry -> entry.getKey() != null)
+                .map(entry -> Map.entry(fold(entry.getKey()) + '\0' + entry.getKey(), entry))
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    folded.add(entry.getKey().substring(0, entry.getKey().indexOf('\0')));
+                    entries.add(entry.getValue());
+                });
+        String[] keys = folded.toArray(new String[0]);
+        String[] values = new String[entries.size()];
+        long[] weights = new long[entries.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = entries.get(i).getKey();
+            weights[i] = entries.get(i).getValue();
+        }
+        return new PrefixIndex(keys, values, weights);
+    }
+
+    /**
+     * Pasa un texto a la forma con la que se compara: minúsculas y sin tildes ni diéresis.
+     */
+    public static String fold(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Las sugerencias para un prefijo, sin distinguir mayúsculas ni tildes.
+     *
+     * @param prefix El prefijo; vacío para todos los valores.
+     * @param limit  El número máximo de sugerencias.
+     * @return Los valores que empiezan por el prefijo, del más frecuente al menos, y a igual frecuencia en
+     *         orden alfabético.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        int[] range = range(fold(prefix));
+        List<String> result = new ArrayList<>(Math.min(limit, range[1] - range[0]));
+        if (range[0] == range[1]) {
+            return result;
+        }
+        PriorityQueue<int[]> intervals = new PriorityQueue<>(
+                Comparator.<int[]>comparingLong(interval -> -counts[interval[0]]).thenComparingInt(interval -> interval[0]));
+        intervals.add(new int[] { maxIn(range[0], range[1]), range[0], range[1] });
+        while (!intervals.isEmpty() && result.size() < limit) {
+            int[] interval = intervals.poll();
+            int best = interval[0];
+            result.add(values[best]);
+            if (interval[1] < best) {
+                intervals.add(new int[] { maxIn(interval[1], best), interval[1], best });
+            }
+            if (best + 1 < interval[2]) {
+                intervals.add(new int[] { maxIn(best + 1, interval[2]), best + 1, interval[2] });
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Los valores que empiezan exactamente por un prefijo, distinguiendo mayúsculas y tildes, con su número de
+     * apariciones.
+     *
+     * @return Pares con el valor y su número de apariciones, en orden alfabético.
+     */
+    public List<Object[]> startingWith(String prefix) {
+        int[] range = range(fold(prefix));
+        List<Object[]> result = new ArrayList<>();
+        for (int i = range[0]; i < range[1]; i++) {
+            if (values[i].startsWith(prefix)) {
+                result.add(new Object[] { values[i], counts[i] });
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return El número de valores distintos del índice.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * El tramo {@code [desde, hasta)} de las claves que empiezan por el prefijo ya normalizado.
+     */
+    private int[] range(String prefix) {
+        int from = Arrays.binarySearch(keys, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        } else {
+            while (from > 0 && keys[from - 1].equals(prefix)) {
+                from--;
+            }
+        }
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return new int[] { from, low };
+    }
+
+    /**
+     * Posición del valor más frecuente de {@code [from, to)} con el árbol de segmentos.
+     */
+    private int maxIn(int from, int to) {
+        int n = values.length;
+        int best = from;
+        for (int left = from + n, right = to + n; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) == 1) {
+                best = better(best, tree[left++]);
+            }
+            if ((right & 1) == 1) {
+                best = better(best, tree[--right]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        if (counts[a] != counts[b]) {
+            return counts[a] > counts[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+}
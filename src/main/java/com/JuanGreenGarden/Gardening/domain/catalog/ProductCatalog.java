@@ -0,0 +1,230 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.JuanGreenGarden.Gardening.domain.cache.TableVersionRegistry;
+import com.JuanGreenGarden.Gardening.domain.repository.ProductRepository;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductDTO;
+
+/**
+ * Copia en memoria de la tabla {@code producto} para las consultas por precio, gama y stock.
+ *
+ * La tabla es pequeña comparada con los pedidos, así que se lee entera con una sola consulta de columnas
+ * (sin el grafo EAGER de {@code Product}) y se guarda en arrays ordenados: todos los productos por precio de
+ * venta, y los de cada gama por stock. Las consultas se resuelven con búsqueda binaria sobre esos arrays, sin
+ * ir a la base de datos.
+ *
+ * La copia se vuelve a leer en la primera consulta después de una escritura en {@code producto} o
+ * {@code gama_producto}, comparando la versión de esas tablas en {@link TableVersionRegistry} con la que tenían
+ * al leerla. Cada lectura construye arrays nuevos, así que las consultas en curso siguen con la copia anterior.
+ */
+@Component
+public class ProductCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalog.class);
+    private static final String[] TABLES = { "producto", "gama_producto" };
+
+    private static final Comparator<Item> BY_PRICE = Comparator.comparing(Item::buyPrice).thenComparing(Item::productCode);
+    private static final Comparator<Item> BY_STOCK = Comparator.comparingInt(Item::quantityInStock).thenComparing(Item::productCode);
+
+    private final ProductRepository productRepository;
+    private final TableVersionRegistry tableVersions;
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ProductCatalog(ProductRepository productRepository, TableVersionRegistry tableVersions) {
+        this.productRepository = productRepository;
+        this.tableVersions = tableVersions;
+    }
+
+    /**
+     * @return El producto con el precio de venta más bajo, o null si no hay productos.
+     */
+    public ProductDTO cheapest() {
+        Item[] byPrice = snapshot().byPrice();
+        return byPrice.length == 0 ? null : byPrice[0].toDTO();
+    }
+
+    /**
+     * @return El producto con el precio de venta más alto, o null si no hay productos.
+     */
+    public ProductDTO mostExpensive() {
+        Item[] byPrice = snapshot().byPrice();
+        return byPrice.length == 0 ? null : byPrice[byPrice.length - 1].toDTO();
+    }
+
+    /**
+     * @return Los {@code k} productos más baratos, del más barato al más caro.
+     */
+    public List<ProductDTO> cheapest(int k) {
+        Item[] byPrice = snapshot().byPrice();
+        return toDTOs(byPrice, 0, Math.min(k, byPrice.length), false);
+    }
+
+    /**
+     * @return Los {@code k} productos más caros, del más caro al más barato.
+     */
+    public List<ProductDTO> mostExpensive(int k) {
+        Item[] byPrice = snapshot().byPrice();
+        return toDTOs(byPrice, Math.max(0, byPrice.length - k), byPrice.length, true);
+    }
+
+    /**
+     * @return Los productos con un precio de venta entre {@code min} y {@code max}, ambos incluidos, ordenados
+     *         por precio.
+     */
+    public List<ProductDTO> priceBetween(BigDecimal min, BigDecimal max) {
+        Item[] byPrice = snapshot().byPrice();
+        int from = firstIndex(byPrice, item -> item.buyPrice().compareTo(min) >= 0);
+        int to = firstIndex(byPrice, item -> item.buyPrice().compareTo(max) > 0);
+        return toDTOs(byPrice, from, Math.max(from, to), false);
+    }
+
+    /**
+     * @return Los productos de la gama con más de {@code stock} unidades, ordenados por stock.
+     */
+    public List<ProductDTO> inProductLineWithStockAbove(String productLine, int stock) {
+        Item[] byStock = snapshot().byLine().get(productLine);
+        if (byStock == null) {
+            return List.of();
+        }
+        int from = firstIndex(byStock, item -> item.quantityInStock() > stock);
+        return toDTOs(byStock, from, byStock.length, false);
+    }
+
+    /**
+     * @return El producto con ese código, o null si no existe.
+     */
+    public ProductDTO find(String productCode) {
+        Item item = snapshot().byCode().get(productCode);
+        return item == null ? null : item.toDTO();
+    }
+
+    /**
+     * @return La gama del producto con ese código, o null si no existe.
+     */
+    public String productLineOf(String productCode) {
+        Item item = snapshot().byCode().get(productCode);
+        return item == null ? null : item.productLine();
+    }
+
+    /**
+     * @return Los códigos de todos los productos.
+     */
+    public List<String> productCodes() {
+        return List.copyOf(snapshot().byCode().keySet());
+    }
+
+    /**
+     * @return El número de productos de la copia.
+     */
+    public int size() {
+        return snapshot().byPrice().length;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        long version = tableVersions.version(TABLES);
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            version = tableVersions.version(TABLES);
+            if (current == null || current.version() != version) {
+                current = load(version);
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Lee la tabla. La versión se toma antes de leer: si hay una escritura mientras tanto, la siguiente consulta
+     * vuelve a leer.
+     */
+    private Snapshot load(long version) {
+        long start = System.nanoTime();
+        List<Object[]> rows = productRepository.findCatalogRows();
+        Item[] byPrice = new Item[rows.size()];
+        Map<String, Item> byCode = new HashMap<>();
+        Map<String, List<Item>> lines = new HashMap<>();
+        for (int i = 0; i < byPrice.length; i++) {
+            Object[] row = rows.get(i);
+            Item item = new Item((String) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                    (Integer) row[5], (BigDecimal) row[6], (BigDecimal) row[7], (String) row[8]);
+            byPrice[i] = item;
+            byCode.put(item.productCode(), item);
+            lines.computeIfAbsent(item.productLine(), line -> new ArrayList<>()).add(item);
+        }
+        Arrays.sort(byPrice, BY_PRICE);
+        Map<String, Item[]> byLine = new HashMap<>();
+        lines.forEach((line, items) -> {
+            Item[] byStock = items.toArray(new Item[0]);
+            Arrays.sort(byStock, BY_STOCK);
+            byLine.put(line, byStock);
+        });
+        log.debug("Product catalog loaded: {} products in {} product lines in {} ms", byPrice.length, byLine.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new Snapshot(version, byPrice, byLine, byCode);
+    }
+
+    /**
+     * Primera posición que cumple {@code test}, sabiendo que el array está ordenado de forma que ningún
+     * elemento anterior a ella lo cumple y todos los posteriores sí.
+     */
+    private static int firstIndex(Item[] items, Predicate<Item> test) {
+        int low = 0;
+        int high = items.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (!test.test(items[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static List<ProductDTO> toDTOs(Item[] items, int from, int to, boolean reversed) {
+        List<ProductDTO> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(items[reversed ? to - 1 - (i - from) : i].toDTO());
+        }
+        return result;
+    }
+
+    private record Snapshot(long version, Item[] byPrice, Map<String, Item[]> byLine, Map<String, Item> byCode) {
+    }
+
+    private record Item(String productCode, String productName, String productScale, String productVendor,
+                        String productDescription, int quantityInStock, BigDecimal buyPrice, BigDecimal msrp,
+                        String productLine) {
+
+        ProductDTO toDTO() {
+            ProductDTO dto = new ProductDTO();
+            dto.setProductCode(productCode);
+            dto.setProductName(productName);
+            dto.setProductScale(productScale);
+            dto.setProductVendor(productVendor);
+            dto.setProductDescription(productDescription);
+            dto.setQuantityInStock(quantityInStock);
+            dto.setBuyPrice(buyPrice);
+            dto.setMSRP(msrp);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.JuanGreenGarden.Gardening.domain.repository.ProductRepository;
+import com.JuanGreenGarden.Gardening.persistence.entity.Product;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Índice invertido en memoria para buscar productos por texto en el nombre, el proveedor y la descripción.
+ *
+ * Los textos se parten en palabras, se pasan a minúsculas y se les quitan las tildes y la diéresis (la ñ queda
+ * como n), y se descartan las palabras vacías más comunes del español. Cada palabra de la búsqueda encuentra
+ * los términos que empiezan por ella, así que {@code rosa} encuentra también {@code rosal} y {@code rosas}, y un
+ * producto tiene que contenerlas todas. Los resultados se ordenan con BM25, sumando el de cada campo con más
+ * peso para el nombre; las coincidencias por prefijo puntúan la mitad que las exactas.
+ *
+ * El índice se construye en segundo plano al arrancar y después se mantiene con los eventos de Hibernate: cada
+ * producto insertado, modificado o borrado se vuelve a indexar solo. Los cambios que llegan mientras se lee la
+ * tabla se aplican al terminar, y como indexar un producto con su último estado se puede repetir sin efecto,
+ * el índice queda al día. Mientras no está listo, en PostgreSQL la búsqueda se hace con {@code tsvector} en la
+ * base de datos y en otras bases se construye el índice en la propia llamada.
+ */
+@Component
+public class ProductSearchIndex implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of("a", "al", "como", "con", "de", "del", "desde", "e", "el",
+            "en", "entre", "es", "hasta", "la", "las", "lo", "los", "mas", "muy", "o", "para", "por", "que", "se",
+            "sin", "sobre", "su", "sus", "u", "un", "una", "unas", "unos", "y");
+
+    /** Peso del nombre, el proveedor y la descripción, en el orden en que se indexan. */
+    private static final double[] FIELD_WEIGHTS = { 3.0, 1.0, 1.0 };
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_EXPANSIONS = 50;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProductRepository productRepository;
+    private final boolean postgres;
+    private final AtomicBoolean warming = new AtomicBoolean();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object buildLock = new Object();
+    private final Map<String, Document> documents = new HashMap<>();
+    private final TreeMap<String, Map<String, int[]>> postings = new TreeMap<>();
+    private final long[] totalLengths = new long[3];
+    private final Deque<Object> pending = new ArrayDeque<>();
+    private boolean building;
+    private volatile boolean ready;
+
+    @Autowired
+    public ProductSearchIndex(EntityManagerFactory entityManagerFactory, ProductRepository productRepository) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.productRepository = productRepository;
+        this.postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    /**
+     * Construye el índice en un hilo aparte al terminar el arranque, para no retrasarlo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warming.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                build();
+            } catch (RuntimeException e) {
+                log.warn("Could not build the product search index, it will be retried on the next search", e);
+            } finally {
+                warming.set(false);
+            }
+        }, "product-search-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Busca productos por texto.
+     *
+     * @param query El texto que se busca.
+     * @param limit El número máximo de productos.
+     * @return Los códigos de los productos que contienen todas las palabras de la búsqueda, del más relevante al
+     *         que menos. Vacía si la búsqueda solo tiene palabras vacías.
+     */
+    public List<String> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        if (!ready) {
+            if (postgres) {
+                warmUp();
+                return productRepository.searchByFullText(toTsQuery(terms), limit);
+            }
+            build();
+        }
+        lock.readLock().lock();
+        try {
+            return rank(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Parte un texto en términos: minúsculas, sin tildes ni diéresis y sin palabras vacías.
+     */
+    private static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String term : NON_WORD.split(folded)) {
+            if (!term.isEmpty() && !STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            changed(product);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            changed(product);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Product product) {
+            changed(product.getProductCode());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass() == Product.class;
+    }
+
+    /**
+     * Aplica el cambio de un producto: el producto con su nuevo estado, o su código si se ha borrado. Si el
+     * índice se está construyendo, se guarda para aplicarlo al terminar.
+     */
+    private void changed(Object change) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pending.add(change);
+            } else if (ready) {
+                apply(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void build() {
+        synchronized (buildLock) {
+            if (ready) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                building = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            long start = System.nanoTime();
+            List<Object[]> rows;
+            try {
+                rows = productRepository.findCatalogRows();
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    building = false;
+                    pending.clear();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                for (Object[] row : rows) {
+                    index((String) row[0], (String) row[1], (String) row[3], (String) row[4]);
+                }
+                while (!pending.isEmpty()) {
+                    apply(pending.poll());
+                }
+                building = false;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Product search index built: {} products, {} terms in {} ms", documents.size(), postings.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Solo se llama con el cerrojo de escritura.
+     */
+    private void apply(Object change) {
+        if (change instanceof Product product) {
+            index(product.getProductCode(), product.getProductName(), product.getProductVendor(),
+                    product.getProductDescription());
+        } else {
+            remove((String) change);
+        }
+    }
+
+    private void index(String productCode, String name, String vendor, String description) {
+        remove(productCode);
+        List<List<String>> fields = List.of(tokenize(name), tokenize(vendor), tokenize(description));
+        int[] lengths = new int[fields.size()];
+        Set<String> terms = new HashSet<>();
+        for (int field = 0; field < fields.size(); field++) {
+            lengths[field] = fields.get(field).size();
+            totalLengths[field] += lengths[field];
+            for (String term : fields.get(field)) {
+                postings.computeIfAbsent(term, key -> new HashMap<>())
+                        .computeIfAbsent(productCode, key -> new int[3])[field]++;
+                terms.add(term);
+            }
+        }
+        documents.put(productCode, new Document(lengths, terms));
+    }
+
+    private void remove(String productCode) {
+        Document document = documents.remove(productCode);
+        if (document == null) {
+            return;
+        }
+        for (int field = 0; field < document.lengths().length; field++) {
+            totalLengths[field] -= document.lengths()[field];
+        }
+        for (String term : document.terms()) {
+            Map<String, int[]> products = postings.get(term);
+            products.remove(productCode);
+            if (products.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Puntúa los productos que contienen todas las palabras. Para cada palabra cuenta el mejor de los términos
+     * que la encuentran, exacto o por prefijo. Solo se llama con el cerrojo de lectura.
+     */
+    private List<String> rank(List<String> terms, int limit) {
+        int count = documents.size();
+        double[] averageLengths = new double[totalLengths.length];
+        for (int field = 0; field < totalLengths.length; field++) {
+            averageLengths[field] = count == 0 ? 0 : Math.max(1.0, (double) totalLengths[field] / count);
+        }
+
+        Map<String, Double> scores = null;
+        for (String term : new HashSet<>(terms)) {
+            Map<String, Double> termScores = new HashMap<>();
+            for (Map.Entry<String, Map<String, int[]>> match : matches(term).entrySet()) {
+                double weight = match.getKey().equals(term) ? 1.0 : PREFIX_WEIGHT;
+                Map<String, int[]> products = match.getValue();
+                double idf = Math.log(1 + (count - products.size() + 0.5) / (products.size() + 0.5));
+                products.forEach((productCode, frequencies) -> {
+                    double score = weight * idf * bm25(frequencies, documents.get(productCode).lengths(), averageLengths);
+                    termScores.merge(productCode, score, Math::max);
+                });
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<String, Double> both = new HashMap<>();
+                for (Map.Entry<String, Double> score : scores.entrySet()) {
+                    Double termScore = termScores.get(score.getKey());
+                    if (termScore != null) {
+                        both.put(score.getKey(), score.getValue() + termScore);
+                    }
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Los términos que encuentra una palabra: ella misma y, si tiene al menos dos letras, los que empiezan por
+     * ella, hasta un máximo para que una búsqueda muy corta no recorra todo el índice.
+     */
+    private Map<String, Map<String, int[]>> matches(String term) {
+        if (term.length() < MIN_PREFIX_LENGTH) {
+            Map<String, int[]> exact = postings.get(term);
+            return exact == null ? Map.of() : Map.of(term, exact);
+        }
+        Map<String, Map<String, int[]>> matches = new HashMap<>();
+        for (Map.Entry<String, Map<String, int[]>> entry : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            matches.put(entry.getKey(), entry.getValue());
+            if (matches.size() == MAX_EXPANSIONS) {
+                break;
+            }
+        }
+        Map<String, int[]> exact = postings.get(term);
+        if (exact != null) {
+            matches.put(term, exact);
+        }
+        return matches;
+    }
+
+    private static double bm25(int[] frequencies, int[] lengths, double[] averageLengths) {
+        double score = 0;
+        for (int field = 0; field < frequencies.length; field++) {
+            int frequency = frequencies[field];
+            if (frequency > 0) {
+                double norm = K1 * (1 - B + B * lengths[field] / averageLengths[field]);
+                score += FIELD_WEIGHTS[field] * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Convierte los términos en una consulta de {@code to_tsquery} con las mismas reglas que el índice: todas
+     * las palabras, y como prefijo solo las que tienen al menos {@link #MIN_PREFIX_LENGTH} letras. Los términos
+     * solo tienen letras y números, así que no hace falta escapar nada.
+     */
+    private static String toTsQuery(List<String> terms) {
+        List<String> parts = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            parts.add(term.length() < MIN_PREFIX_LENGTH ? term : term + ":*");
+        }
+        return String.join(" & ", parts);
+    }
+
+    private record Document(int[] lengths, Set<String> terms) {
+    }
+}
@@ -0,0 +1,459 @@
+package com.JuanGreenGarden.Gardening.domain.datagen;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import com.JuanGreenGarden.Gardening.domain.repository.PostgresCopyWriter;
+import com.JuanGreenGarden.Gardening.domain.repository.SequenceInitializer;
+
+/**
+ * Genera datos sintéticos para todas las tablas del esquema y los carga con COPY.
+ *
+ * Cada fila se calcula a partir de la semilla y de su propio identificador, así que el resultado es
+ * reproducible y no hace falta guardar nada en memoria entre tablas: pedidos, líneas y pagos se
+ * recorren cliente a cliente regenerando los mismos valores. Los identificadores empiezan después de
+ * los que ya existen, de modo que se puede ejecutar sobre la base de datos con los datos de ejemplo.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    // Flujos aleatorios independientes, uno por tipo de dato
+    private static final long OFFICES = 1, EMPLOYEES = 2, PRODUCT_LINES = 3, PRODUCTS = 4,
+            CUSTOMERS = 5, CUSTOMER_ORDERS = 6, ORDER = 7, PAYMENTS = 8;
+
+    private static final String[][] OFFICE_LOCATIONS = {
+            { "Madrid", "España", "Madrid", "28", "+34 91" },
+            { "Barcelona", "España", "Barcelona", "08", "+34 93" },
+            { "Talavera de la Reina", "España", "Castilla-LaMancha", "45", "+34 925" },
+            { "Sevilla", "España", "Andalucía", "41", "+34 95" },
+            { "Valencia", "España", "Valencia", "46", "+34 96" },
+            { "Boston", "EEUU", "MA", "02", "+1 215" },
+            { "San Francisco", "EEUU", "CA", "94", "+1 650" },
+            { "Londres", "Inglaterra", "EMEA", "EC2N", "+44 20" },
+            { "Paris", "Francia", "EMEA", "750", "+33 14" },
+            { "Sydney", "Australia", "APAC", "NSW", "+61 2" },
+            { "Tokyo", "Japón", "Chiyoda-Ku", "102", "+81 33" } };
+
+    private static final String[][] CUSTOMER_LOCATIONS = {
+            { "Madrid", "Madrid", "Spain", "28" },
+            { "Fuenlabrada", "Madrid", "Spain", "28" },
+            { "Barcelona", "Cataluña", "Spain", "08" },
+            { "Sevilla", "Andalucía", "Spain", "41" },
+            { "Valencia", "Valencia", "Spain", "46" },
+            { "San Francisco", null, "USA", "94" },
+            { "Miami", "Miami", "USA", "33" },
+            { "New York", null, "USA", "10" },
+            { "Paris", null, "France", "75" },
+            { "Sydney", "Nueva Gales del Sur", "Australia", "20" },
+            { "London", null, "United Kingdom", "EC" } };
+
+    // Peso de cada ubicación de cliente: la mayoría de los clientes están en España, como en los datos de ejemplo
+    private static final int[] CUSTOMER_LOCATION_WEIGHTS = { 30, 12, 10, 6, 6, 8, 5, 7, 6, 5, 5 };
+
+    private static final String[] FIRST_NAMES = { "Marcos", "Ruben", "Alberto", "Maria", "Felipe", "Juan", "Carlos",
+            "Mariano", "Lucio", "Hilario", "Emmanuel", "José Manuel", "David", "Oscar", "Francois", "Lionel", "Laurent",
+            "Michael", "Walter", "Hilary", "Marcus", "Lorena", "Nei", "Amy", "Kevin", "Julian", "Mariko", "Eva María" };
+
+    private static final String[] SURNAMES = { "Magaña", "López", "Soria", "Solís", "Rosas", "Rodriguez", "Fernandez",
+            "López", "Campoamor", "Rodriguez", "Magaña", "Martinez", "Palma", "Salamanca", "Fignon", "Narvaez", "Serra",
+            "Bolton", "Simon", "Washington", "Paxton", "Paxton", "Nishikori", "Johnson", "Smith", "Bellinelli", "Kishi" };
+
+    private static final String[] CUSTOMER_PREFIXES = { "Jardines", "Viveros", "Flores", "Naturaleza", "Huerto",
+            "Garden", "Plantas", "Agrojardin", "Tendo", "Golf", "Sotogrande", "Beragua", "Club" };
+
+    private static final String[] CUSTOMER_SUFFIXES = { "Verdes", "del Sur", "Marite", "Express", "Associates",
+            "Hermanos", "Garden Center", "y Jardines", "Rosales", "Camunas", "Dardena", "El Arbol" };
+
+    private static final String[] PRODUCT_KINDS = { "Rosal", "Limonero", "Olivo", "Naranjo", "Manzano", "Peral",
+            "Cerezo", "Ciruelo", "Higuera", "Palmera", "Laurel", "Lavanda", "Romero", "Tomillo", "Azada", "Pala",
+            "Rastrillo", "Sierra de Poda", "Hortensia", "Acer", "Bougamvillea", "Camelia", "Jazmin", "Cactus" };
+
+    private static final String[] PRODUCT_VARIANTS = { "Comun", "Enano", "Trepador", "Japonés", "Italiano",
+            "Mediterraneo", "Gigante", "Blanco", "Rojo", "Variegado", "Premium", "Clasico" };
+
+    private static final String[] SUPPLIERS = { "HiperGarden Tools", "Viveros EL OASIS", "Frutales Talavera S.A",
+            "NaranjasValencianas.com", "Murcia Seasons", "Jardineria Sara", "Valencia Garden Service" };
+
+    private static final String[] PAYMENT_METHODS = { "PayPal", "Transferencia", "Cheque" };
+    private static final int[] PAYMENT_METHOD_WEIGHTS = { 70, 20, 10 };
+
+    private final DataSource dataSource;
+    private final SyntheticDataProperties properties;
+
+    @Autowired
+    public SyntheticDataGenerator(@Qualifier("oltpDataSource") DataSource dataSource, SyntheticDataProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    /**
+     * Genera y carga todas las tablas. Cada tabla se carga en su propia transacción.
+     *
+     * @return El número de filas cargadas por tabla, en orden de carga.
+     */
+    public Map<String, Long> generate() {
+        Map<String, Long> rows = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            if (!PostgresCopyWriter.isSupported(connection)) {
+                throw new IllegalStateException("The synthetic data generator requires a PostgreSQL database");
+            }
+            connection.setAutoCommit(false);
+            Plan plan = new Plan(connection);
+
+            rows.put("oficina", loadOffices(connection, plan));
+            rows.put("empleado", loadEmployees(connection, plan));
+            rows.put("gama_producto", loadProductLines(connection, plan));
+            rows.put("producto", loadProducts(connection, plan));
+            rows.put("cliente", loadCustomers(connection, plan));
+            rows.put("pedido", loadOrders(connection, plan, false));
+            rows.put("detalle_pedido", loadOrders(connection, plan, true));
+            rows.put("pago", loadPayments(connection, plan));
+
+            try (Statement statement = connection.createStatement()) {
+                SequenceInitializer.advancePastExistingKeys(statement);
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Synthetic data generation failed: " + e.getMessage(), e);
+        }
+        return rows;
+    }
+
+    private long loadOffices(Connection connection, Plan plan) throws SQLException {
+        try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "oficina", "codigo_oficina", "ciudad",
+                "pais", "region", "codigo_postal", "telefono", "linea_direccion1", "linea_direccion2")) {
+            for (int i = 0; i < properties.getOffices(); i++) {
+                SplittableRandom random = random(OFFICES, i);
+                String[] location = OFFICE_LOCATIONS[random.nextInt(OFFICE_LOCATIONS.length)];
+                writer.writeRow(plan.officeCode(i), location[0], location[1], location[2],
+                        location[3] + String.format("%03d", random.nextInt(1000)),
+                        location[4] + " " + digits(random, 7),
+                        "Calle " + SURNAMES[random.nextInt(SURNAMES.length)] + ", " + (1 + random.nextInt(200)),
+                        random.nextInt(3) == 0 ? "Planta " + (1 + random.nextInt(9)) : null);
+            }
+            return finish(connection, writer, "oficina");
+        }
+    }
+
+    private long loadEmployees(Connection connection, Plan plan) throws SQLException {
+        try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "empleado", "codigo_empleado", "nombre",
+                "apellido1", "apellido2", "extension", "email", "codigo_oficina", "codigo_jefe", "puesto")) {
+            int director = plan.employeeBase + 1;
+            writeEmployee(writer, director, plan.officeCode(0), null, "Director General");
+            for (int office = 0; office < properties.getOffices(); office++) {
+                int officeDirector = plan.officeDirector(office);
+                writeEmployee(writer, officeDirector, plan.officeCode(office), director, "Director Oficina");
+                for (int i = 1; i < properties.getEmployeesPerOffice(); i++) {
+                    writeEmployee(writer, officeDirector + i, plan.officeCode(office), officeDirector, "Representante Ventas");
+                }
+            }
+            return finish(connection, writer, "empleado");
+        }
+    }
+
+    private void writeEmployee(PostgresCopyWriter writer, int id, String office, Integer boss, String position)
+            throws SQLException {
+        SplittableRandom random = random(EMPLOYEES, id);
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String surname = SURNAMES[random.nextInt(SURNAMES.length)];
+        writer.writeRow(id, name, surname, SURNAMES[random.nextInt(SURNAMES.length)], digits(random, 4),
+                (name.charAt(0) + surname).toLowerCase().replace(" ", "") + id + "@jardineria.es", office, boss, position);
+    }
+
+    private long loadProductLines(Connection connection, Plan plan) throws SQLException {
+        try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "gama_producto", "gama",
+                "descripcion_texto", "descripcion_html", "imagen")) {
+            for (int i = 0; i < properties.getProductLines(); i++) {
+                SplittableRandom random = random(PRODUCT_LINES, i);
+                writer.writeRow(plan.productLine(i),
+                        "Gama de " + PRODUCT_KINDS[random.nextInt(PRODUCT_KINDS.length)].toLowerCase() + " y similares",
+                        null, null);
+            }
+            return finish(connection, writer, "gama_producto");
+        }
+    }
+
+    private long loadProducts(Connection connection, Plan plan) throws SQLException {
+        try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "producto", "codigo_producto", "nombre",
+                "gama", "dimensiones", "proveedor", "descripcion", "cantidad_en_stock", "precio_venta", "precio_proveedor")) {
+            for (int i = 0; i < properties.getProducts(); i++) {
+                SplittableRandom random = random(PRODUCTS, i);
+                String kind = PRODUCT_KINDS[random.nextInt(PRODUCT_KINDS.length)];
+                String variant = PRODUCT_VARIANTS[random.nextInt(PRODUCT_VARIANTS.length)];
+                int stock = random.nextInt(10) == 0 ? 0 : random.nextInt(500);
+                long priceCents = plan.priceCents[i];
+                writer.writeRow(plan.productCode(i), kind + " " + variant + " " + (i + 1),
+                        plan.productLine(random.nextInt(properties.getProductLines())),
+                        random.nextBoolean() ? (10 + random.nextInt(40)) + "-" + (50 + random.nextInt(150)) : null,
+                        SUPPLIERS[random.nextInt(SUPPLIERS.length)],
+                        kind + " de la variedad " + variant.toLowerCase() + ".",
+                        stock, BigDecimal.valueOf(priceCents, 2), BigDecimal.valueOf(priceCents * 7 / 10, 2));
+            }
+            return finish(connection, writer, "producto");
+        }
+    }
+
+    private long loadCustomers(Connection connection, Plan plan) throws SQLException {
+        try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "cliente", "codigo_cliente",
+                "nombre_cliente", "nombre_contacto", "apellido_contacto", "telefono", "fax", "linea_direccion1",
+                "linea_direccion2", "ciudad", "region", "pais", "codigo_postal", "codigo_empleado_rep_ventas",
+                "limite_credito")) {
+            for (int c = 1; c <= properties.getCustomers(); c++) {
+                SplittableRandom random = random(CUSTOMERS, c);
+                String[] location = CUSTOMER_LOCATIONS[weighted(random, CUSTOMER_LOCATION_WEIGHTS)];
+                String phone = "5" + digits(random, 9);
+                Integer rep = random.nextDouble() < properties.getCustomersWithoutRepRatio() ? null : plan.salesRep(random);
+                writer.writeRow(plan.customerBase + c,
+                        CUSTOMER_PREFIXES[random.nextInt(CUSTOMER_PREFIXES.length)] + " "
+                                + CUSTOMER_SUFFIXES[random.nextInt(CUSTOMER_SUFFIXES.length)] + " " + c,
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], SURNAMES[random.nextInt(SURNAMES.length)],
+                        phone, phone.substring(0, 9) + (char) ('0' + (phone.charAt(9) - '0' + 1) % 10),
+                        "Calle " + SURNAMES[random.nextInt(SURNAMES.length)] + " " + (1 + random.nextInt(300)),
+                        random.nextInt(4) == 0 ? "Local " + (1 + random.nextInt(20)) : null,
+                        location[0], location[1], location[2], location[3] + digits(random, 3), rep,
+                        BigDecimal.valueOf(500L * (2 + random.nextInt(200))));
+                progress("cliente", c);
+            }
+            return finish(connection, writer, "cliente");
+        }
+    }
+
+    /**
+     * Carga los pedidos o sus líneas. Las dos pasadas recorren los mismos clientes y pedidos con las mismas semillas,
+     * así que las líneas siempre coinciden con los pedidos ya cargados.
+     */
+    private long loadOrders(Connection connection, Plan plan, boolean lines) throws SQLException {
+        String table = lines ? "detalle_pedido" : "pedido";
+        PostgresCopyWriter writer = lines
+                ? new PostgresCopyWriter(connection, table, "codigo_pedido", "codigo_producto", "cantidad",
+                        "precio_unidad", "numero_linea")
+                : new PostgresCopyWriter(connection, table, "codigo_pedido", "fecha_pedido", "fecha_esperada",
+                        "fecha_entrega", "estado", "comentarios", "codigo_cliente");
+        try (writer) {
+            int orderId = plan.orderBase;
+            long written = 0;
+            int[] productsInOrder = new int[properties.getMaxLinesPerOrder()];
+            for (int c = 1; c <= properties.getCustomers(); c++) {
+                int orders = geometric(random(CUSTOMER_ORDERS, c), properties.getOrdersPerCustomer());
+                for (int k = 0; k < orders; k++) {
+                    orderId++;
+                    SplittableRandom random = random(ORDER, orderId);
+                    LocalDate ordered = properties.getStartDate().plusDays(random.nextInt(properties.getDays()));
+                    LocalDate expected = ordered.plusDays(3 + random.nextInt(13));
+                    double outcome = random.nextDouble();
+                    boolean late = random.nextDouble() < properties.getLateOrderRatio();
+                    int deliveryDays = late
+                            ? 1 + random.nextInt(30)
+                            : -random.nextInt((int) (expected.toEpochDay() - ordered.toEpochDay()));
+
+                    if (!lines) {
+                        boolean recent = ordered.isAfter(properties.getStartDate().plusDays(properties.getDays() - 30L));
+                        String status = recent || outcome < 0.10 ? "Pendiente" : outcome < 0.18 ? "Rechazado" : "Entregado";
+                        LocalDate delivered = status.equals("Entregado") ? expected.plusDays(deliveryDays) : null;
+                        String comments = status.equals("Rechazado") ? "El pedido fue rechazado por el cliente"
+                                : delivered != null && late ? "El pedido no llego el dia que queria el cliente por fallo del transporte"
+                                : null;
+                        writer.writeRow(orderId, ordered, expected, delivered, status, comments, plan.customerBase + c);
+                        progress(table, ++written);
+                        continue;
+                    }
+
+                    int lineCount = 1 + random.nextInt(properties.getMaxLinesPerOrder());
+                    int distinct = 0;
+                    for (int line = 0; line < lineCount; line++) {
+                        int product = plan.bestSeller(random);
+                        if (contains(productsInOrder, distinct, product)) {
+                            continue;
+                        }
+                        productsInOrder[distinct++] = product;
+                        int quantity = random.nextInt(20) == 0 ? 50 + random.nextInt(150) : 1 + random.nextInt(20);
+                        writer.writeRow(orderId, plan.productCode(product), quantity,
+                                BigDecimal.valueOf(plan.priceCents[product], 2), distinct);
+                        progress(table, ++written);
+                    }
+                }
+            }
+            return finish(connection, writer, table);
+        }
+    }
+
+    private long loadPayments(Connection connection, Plan plan) throws SQLException {
+        try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "pago", "codigo_cliente", "forma_pago",
+                "id_transaccion", "fecha_pago", "total")) {
+            long written = 0;
+            for (int c = 1; c <= properties.getCustomers(); c++) {
+                SplittableRandom random = random(PAYMENTS, c);
+                if (random.nextDouble() < properties.getCustomersWithoutPaymentsRatio()) {
+                    continue;
+                }
+                int payments = 1 + geometric(random, properties.getOrdersPerCustomer());
+                for (int p = 1; p <= payments; p++) {
+                    int customer = plan.customerBase + c;
+                    writer.writeRow(customer, PAYMENT_METHODS[weighted(random, PAYMENT_METHOD_WEIGHTS)],
+                            "gen-" + customer + "-" + p,
+                            properties.getStartDate().plusDays(random.nextInt(properties.getDays())),
+                            BigDecimal.valueOf(100L * (1 + random.nextInt(10_000)), 2));
+                    progress("pago", ++written);
+                }
+            }
+            return finish(connection, writer, "pago");
+        }
+    }
+
+    private long finish(Connection connection, PostgresCopyWriter writer, String table) throws SQLException {
+        long rows = writer.finish();
+        connection.commit();
+        log.info("Loaded {} rows into {}", rows, table);
+        return rows;
+    }
+
+    private void progress(String table, long rows) {
+        if (rows % properties.getProgressEvery() == 0) {
+            log.info("{}: {} rows written", table, rows);
+        }
+    }
+
+    private SplittableRandom random(long stream, long id) {
+        return new SplittableRandom(properties.getSeed() ^ (stream * 0x9E3779B97F4A7C15L) ^ (id * 0xC2B2AE3D27D4EB4FL));
+    }
+
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1.0 / (1.0 + mean);
+        return (int) Math.floor(Math.log(1.0 - random.nextDouble()) / Math.log(1.0 - p));
+    }
+
+    private static int weighted(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static String digits(SplittableRandom random, int count) {
+        StringBuilder digits = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            digits.append((char) ('0' + random.nextInt(10)));
+        }
+        return digits.toString();
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Identificadores de partida y datos compartidos entre tablas: precios de los productos y su orden de popularidad.
+     */
+    private final class Plan {
+
+        final int officeBase;
+        final int employeeBase;
+        final int productLineBase;
+        final int productBase;
+        final int customerBase;
+        final int orderBase;
+        final long[] priceCents;
+        final String[] productCodes;
+        final int[] popularity;
+        final ZipfSampler zipf;
+
+        Plan(Connection connection) throws SQLException {
+            this.officeBase = queryInt(connection, "SELECT count(*) FROM oficina");
+            this.employeeBase = queryInt(connection, "SELECT coalesce(max(codigo_empleado), 0) FROM empleado");
+            this.productLineBase = queryInt(connection, "SELECT count(*) FROM gama_producto");
+            this.productBase = queryInt(connection, "SELECT count(*) FROM producto");
+            this.customerBase = queryInt(connection, "SELECT coalesce(max(codigo_cliente), 0) FROM cliente");
+            this.orderBase = queryInt(connection, "SELECT coalesce(max(codigo_pedido), 0) FROM pedido");
+
+            int products = properties.getProducts();
+            this.priceCents = new long[products];
+            this.productCodes = new String[products];
+            for (int i = 0; i < products; i++) {
+                priceCents[i] = 100L * (1 + random(PRODUCTS, -1 - i).nextInt(300));
+                productCodes[i] = String.format("GP-%07d", productBase + i);
+            }
+            // Los productos más vendidos no son los primeros códigos: el rango Zipf se asigna a un producto al azar
+            this.popularity = new int[products];
+            SplittableRandom shuffle = random(PRODUCTS, Long.MIN_VALUE);
+            for (int i = 0; i < products; i++) {
+                int j = shuffle.nextInt(i + 1);
+                popularity[i] = popularity[j];
+                popularity[j] = i;
+            }
+            this.zipf = new ZipfSampler(products, properties.getProductSkew());
+        }
+
+        String officeCode(int i) {
+            return String.format("GEN-%05d", officeBase + i);
+        }
+
+        int officeDirector(int office) {
+            return employeeBase + 2 + office * properties.getEmployeesPerOffice();
+        }
+
+        int salesRep(SplittableRandom random) {
+            int office = random.nextInt(properties.getOffices());
+            int perOffice = properties.getEmployeesPerOffice();
+            return perOffice > 1 ? officeDirector(office) + 1 + random.nextInt(perOffice - 1) : officeDirector(office);
+        }
+
+        String productLine(int i) {
+            return String.format("Gama %04d", productLineBase + i);
+        }
+
+        String productCode(int i) {
+            return productCodes[i];
+        }
+
+        int bestSeller(SplittableRandom random) {
+            return popularity[zipf.sample(random)];
+        }
+
+        private int queryInt(Connection connection, String sql) throws SQLException {
+            try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+                result.next();
+                return result.getInt(1);
+            }
+        }
+    }
+}
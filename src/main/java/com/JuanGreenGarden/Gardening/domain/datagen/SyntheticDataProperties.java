@@ -0,0 +1,55 @@
+package com.JuanGreenGarden.Gardening.domain.datagen;
+
+import java.time.LocalDate;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Volúmenes y distribuciones del generador de datos sintéticos ({@code app.datagen.*}).
+ *
+ * Con la misma semilla y los mismos valores se generan siempre las mismas filas.
+ */
+@Data
+@Component
+@Profile("datagen")
+@ConfigurationProperties("app.datagen")
+public class SyntheticDataProperties {
+
+    /** Semilla de la que se derivan todos los valores aleatorios. */
+    private long seed = 42L;
+
+    private int offices = 50;
+    private int employeesPerOffice = 20;
+    private int productLines = 20;
+    private int products = 5_000;
+    private int customers = 100_000;
+
+    /** Media de pedidos por cliente; el número sigue una distribución geométrica, así que hay clientes sin pedidos. */
+    private double ordersPerCustomer = 5.0;
+
+    /** Máximo de líneas por pedido; cada pedido tiene entre 1 y este valor. */
+    private int maxLinesPerOrder = 10;
+
+    /** Exponente de la distribución Zipf de los productos: cuanto mayor, más concentradas las ventas en pocos productos. */
+    private double productSkew = 1.1;
+
+    /** Fracción de pedidos entregados después de la fecha esperada. */
+    private double lateOrderRatio = 0.15;
+
+    /** Fracción de clientes que no tienen ningún pago. */
+    private double customersWithoutPaymentsRatio = 0.3;
+
+    /** Fracción de clientes sin representante de ventas. */
+    private double customersWithoutRepRatio = 0.02;
+
+    /** Primer día del rango de fechas de los pedidos y número de días del rango. */
+    private LocalDate startDate = LocalDate.of(2006, 1, 1);
+    private int days = 4 * 365;
+
+    /** Cada cuántas filas se informa del progreso en el log. */
+    private long progressEvery = 1_000_000L;
+}
@@ -0,0 +1,46 @@
+package com.JuanGreenGarden.Gardening.domain.datagen;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lanza el generador de datos sintéticos al arrancar con el perfil {@code datagen}.
+ *
+ * Ese perfil desactiva el servidor web y la aplicación termina al acabar la carga.
+ */
+@Component
+@Profile("datagen")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    private final SyntheticDataGenerator generator;
+    private final ApplicationContext context;
+
+    @Autowired
+    public SyntheticDataRunner(SyntheticDataGenerator generator, ApplicationContext context) {
+        this.generator = generator;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Map<String, Long> rows = generator.generate();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        log.info("Synthetic data loaded in {} s ({} rows/s): {}", String.format("%.1f", seconds),
+                Math.round(total / seconds), rows);
+        // Los hilos del planificador de tareas no son daemon y mantendrían viva la JVM
+        System.exit(SpringApplication.exit(context));
+    }
+}
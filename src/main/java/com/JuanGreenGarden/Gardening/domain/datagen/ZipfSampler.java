@@ -0,0 +1,34 @@
+package com.JuanGreenGarden.Gardening.domain.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Muestreador de una distribución Zipf sobre {@code n} elementos: el elemento de rango k sale con
+ * probabilidad proporcional a {@code 1 / k^s}. Se usa para que unos pocos productos concentren la mayoría de las ventas.
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 1; rank <= n; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    /**
+     * Devuelve un rango entre 0 (el más frecuente) y n - 1.
+     */
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
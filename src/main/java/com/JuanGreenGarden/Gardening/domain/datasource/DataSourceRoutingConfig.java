@@ -0,0 +1,93 @@
+package com.JuanGreenGarden.Gardening.domain.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.util.StringUtils;
+
+import com.JuanGreenGarden.Gardening.domain.monitoring.SlowQueryListener;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Configura dos pools de conexiones: uno para las consultas interactivas (OLTP) y otro, de solo lectura,
+ * para los reportes. El pool de reportes usa la misma base de datos salvo que se indique
+ * {@code app.datasource.reporting.url}, por ejemplo para apuntar a una réplica.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource oltpDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("oltp");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.reporting.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties,
+                                                @Value("${app.datasource.reporting.url:}") String url,
+                                                @Value("${app.datasource.reporting.username:}") String username,
+                                                @Value("${app.datasource.reporting.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(StringUtils.hasText(url) ? url : properties.determineUrl())
+                .username(StringUtils.hasText(username) ? username : properties.determineUsername())
+                .password(StringUtils.hasText(password) ? password : properties.determinePassword())
+                .build();
+        dataSource.setPoolName("reporting");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * DataSource principal de la aplicación. El proxy perezoso retrasa la petición de la conexión hasta
+     * la primera sentencia, cuando el tipo de carga del hilo ya está fijado. Por debajo, cada sentencia
+     * pasa por {@link SlowQueryListener}.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("oltpDataSource") DataSource oltpDataSource,
+                                 @Qualifier("reportingDataSource") DataSource reportingDataSource,
+                                 SlowQueryListener slowQueryListener) {
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                WorkloadType.OLTP, oltpDataSource,
+                WorkloadType.REPORTING, reportingDataSource));
+        routingDataSource.setDefaultTargetDataSource(oltpDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(ProxyDataSourceBuilder.create("jpa", routingDataSource)
+                .listener(slowQueryListener)
+                .build());
+    }
+
+    /**
+     * Con {@code spring.main.lazy-initialization} los pools y el EntityManagerFactory se siguen creando al arrancar:
+     * si no, la primera petición tendría que esperar al arranque de Hibernate.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter persistenceLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                AbstractEntityManagerFactoryBean.class);
+    }
+}
@@ -0,0 +1,18 @@
+package com.JuanGreenGarden.Gardening.domain.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indica el tipo de carga de un servicio o de un método de servicio. La anotación del método
+ * tiene prioridad sobre la de la clase.
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+    WorkloadType value();
+}
@@ -0,0 +1,44 @@
+package com.JuanGreenGarden.Gardening.domain.datasource;
+
+import java.lang.reflect.Method;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fija el tipo de carga declarado con {@link Workload} mientras dura la llamada al servicio.
+ *
+ * Se ejecuta antes que el interceptor de transacciones, así la conexión se pide ya al pool correcto.
+ * Si el hilo ya tiene una transacción abierta, sigue usando la conexión que obtuvo al empezarla.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class WorkloadAspect {
+
+    @Around("@within(com.JuanGreenGarden.Gardening.domain.datasource.Workload) "
+            + "|| @annotation(com.JuanGreenGarden.Gardening.domain.datasource.Workload)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        WorkloadType previous = WorkloadContext.set(resolve(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.set(previous);
+        }
+    }
+
+    private WorkloadType resolve(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), Workload.class);
+        }
+        return workload != null ? workload.value() : WorkloadType.OLTP;
+    }
+}
@@ -0,0 +1,33 @@
+package com.JuanGreenGarden.Gardening.domain.datasource;
+
+/**
+ * Guarda el tipo de carga del hilo actual para que {@link WorkloadRoutingDataSource} elija el pool.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadType current() {
+        WorkloadType workload = CURRENT.get();
+        return workload != null ? workload : WorkloadType.OLTP;
+    }
+
+    /**
+     * Fija el tipo de carga del hilo actual.
+     *
+     * @param workload El nuevo tipo de carga, o null para volver al valor por defecto.
+     * @return El tipo de carga que había antes, para poder restaurarlo.
+     */
+    public static WorkloadType set(WorkloadType workload) {
+        WorkloadType previous = CURRENT.get();
+        if (workload == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(workload);
+        }
+        return previous;
+    }
+}
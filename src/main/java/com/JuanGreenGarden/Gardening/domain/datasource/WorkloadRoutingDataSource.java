@@ -0,0 +1,14 @@
+package com.JuanGreenGarden.Gardening.domain.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource que entrega conexiones del pool OLTP o del pool de reportes según el {@link WorkloadContext}.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
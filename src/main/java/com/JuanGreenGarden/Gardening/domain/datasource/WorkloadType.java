@@ -0,0 +1,11 @@
+package com.JuanGreenGarden.Gardening.domain.datasource;
+
+/**
+ * Tipos de carga que se enrutan a pools de conexiones distintos.
+ */
+public enum WorkloadType {
+    /** Consultas cortas e interactivas, como las búsquedas por identificador. */
+    OLTP,
+    /** Consultas analíticas de solo lectura, que pueden ir a una réplica. */
+    REPORTING
+}
@@ -0,0 +1,44 @@
+package com.JuanGreenGarden.Gardening.domain.filter;
+
+import java.util.List;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
+
+import lombok.Data;
+
+/**
+ * Condición de un filtro: un campo, un operador y sus valores tal como llegan en la petición. Los valores
+ * se convierten al tipo del campo cuando se compila el filtro en {@link FilterDefinition}.
+ */
+@Data
+public class FilterCondition {
+    private final String field;
+    private final FilterOperator operator;
+    private final List<String> values;
+
+    public FilterCondition(String field, FilterOperator operator, List<String> values) {
+        this.field = field;
+        this.operator = operator;
+        this.values = List.copyOf(values);
+    }
+
+    public FilterCondition(String field, FilterOperator operator, String value) {
+        this(field, operator, List.of(value));
+    }
+
+    /**
+     * Lee una condición con la forma {@code campo:operador:valor}, por ejemplo {@code country:eq:Spain}.
+     * Con el operador {@code in} los valores van separados por comas: {@code salesRepresentative:in:11,30}.
+     *
+     * @throws InvalidFilterException Si la condición no tiene las tres partes.
+     */
+    public static FilterCondition parse(String filter) {
+        String[] parts = filter.split(":", 3);
+        if (parts.length < 3 || parts[0].isBlank() || parts[2].isEmpty()) {
+            throw new InvalidFilterException("Invalid filter '" + filter + "', use field:operator:value.");
+        }
+        FilterOperator operator = FilterOperator.parse(parts[1]);
+        List<String> values = operator == FilterOperator.IN ? List.of(parts[2].split(",")) : List.of(parts[2]);
+        return new FilterCondition(parts[0], operator, values);
+    }
+}
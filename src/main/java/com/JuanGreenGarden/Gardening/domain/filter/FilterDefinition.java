@@ -0,0 +1,187 @@
+package com.JuanGreenGarden.Gardening.domain.filter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Lista de campos por los que se puede filtrar un recurso y operadores que admite cada uno.
+ *
+ * Solo se dan de alta campos con un índice que pueda resolver sus operadores, así que cualquier filtro
+ * aceptado usa un índice y los que no se pueden servir se rechazan con {@link InvalidFilterException}.
+ * Los valores siempre van como parámetros y las condiciones se ordenan por campo y operador, de modo que
+ * dos filtros con la misma forma generan la misma sentencia SQL y reutilizan la sentencia preparada y su plan.
+ *
+ * @param <T> La entidad que se filtra.
+ */
+public final class FilterDefinition<T> {
+
+    private static final int MAX_CONDITIONS = 10;
+    private static final int MAX_IN_VALUES = 100;
+
+    private static final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    private final Class<T> entityType;
+    private final Map<String, Field> fields = new LinkedHashMap<>();
+
+    private FilterDefinition(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <T> FilterDefinition<T> of(Class<T> entityType) {
+        return new FilterDefinition<>(entityType);
+    }
+
+    /**
+     * Da de alta un campo filtrable.
+     *
+     * @param name      El nombre del campo en la API.
+     * @param path      La ruta del atributo en la entidad, por ejemplo {@code employeeField.employeeNumber}.
+     * @param type      El tipo al que se convierten los valores.
+     * @param index     El índice que resuelve el filtro; solo sirve de documentación.
+     * @param operators Los operadores que ese índice puede resolver.
+     */
+    public FilterDefinition<T> field(String name, String path, Class<?> type, String index, FilterOperator... operators) {
+        fields.put(name, new Field(path, type, index, EnumSet.of(operators[0], operators)));
+        return this;
+    }
+
+    /**
+     * Compila las condiciones en una {@link Specification} que las une con AND.
+     *
+     * @throws InvalidFilterException Si no hay condiciones, si hay demasiadas, o si algún campo, operador o valor
+     *                                no está permitido.
+     */
+    public Specification<T> toSpecification(List<FilterCondition> conditions) {
+        List<FilterCondition> sorted = validate(conditions);
+        return (root, query, cb) -> where(root, cb, sorted);
+    }
+
+    /**
+     * Cuenta las filas que cumplen las condiciones agrupadas por un campo filtrable.
+     *
+     * @param entityManager El EntityManager con el que se lanza la consulta.
+     * @param groupBy       El campo por el que se agrupa.
+     * @param conditions    Las condiciones del filtro.
+     * @return Una lista de pares con el valor del campo y el número de filas.
+     * @throws InvalidFilterException Si el campo de agrupación o el filtro no están permitidos.
+     */
+    public List<Object[]> countBy(EntityManager entityManager, String groupBy, List<FilterCondition> conditions) {
+        Field groupField = fields.get(groupBy);
+        if (groupField == null) {
+            throw new InvalidFilterException("Cannot group by '" + groupBy + "', use one of " + fields.keySet() + ".");
+        }
+        List<FilterCondition> sorted = validate(conditions);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<T> root = query.from(entityType);
+        Path<?> group = path(root, groupField.path());
+        query.multiselect(group, cb.count(root))
+                .where(where(root, cb, sorted))
+                .groupBy(group)
+                .orderBy(cb.asc(group));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private List<FilterCondition> validate(List<FilterCondition> conditions) {
+        if (conditions.isEmpty()) {
+            throw new InvalidFilterException("At least one filter is required, filterable fields are " + fields.keySet() + ".");
+        }
+        if (conditions.size() > MAX_CONDITIONS) {
+            throw new InvalidFilterException("At most " + MAX_CONDITIONS + " filters are allowed.");
+        }
+        for (FilterCondition condition : conditions) {
+            Field field = fields.get(condition.getField());
+            if (field == null) {
+                throw new InvalidFilterException("Cannot filter by '" + condition.getField()
+                        + "', filterable fields are " + fields.keySet() + ".");
+            }
+            if (!field.operators().contains(condition.getOperator())) {
+                throw new InvalidFilterException("The index " + field.index() + " cannot serve '"
+                        + condition.getOperator().name().toLowerCase() + "' on '" + condition.getField()
+                        + "', use one of " + field.operators().stream().map(op -> op.name().toLowerCase()).toList() + ".");
+            }
+            if (condition.getValues().size() > MAX_IN_VALUES) {
+                throw new InvalidFilterException("At most " + MAX_IN_VALUES + " values are allowed in '" + condition.getField() + "'.");
+            }
+        }
+        List<FilterCondition> sorted = new ArrayList<>(conditions);
+        sorted.sort(Comparator.comparing(FilterCondition::getField).thenComparing(FilterCondition::getOperator));
+        return sorted;
+    }
+
+    private Predicate where(Root<T> root, CriteriaBuilder cb, List<FilterCondition> conditions) {
+        List<Predicate> predicates = new ArrayList<>(conditions.size());
+        for (FilterCondition condition : conditions) {
+            Field field = fields.get(condition.getField());
+            predicates.add(predicate(cb, path(root, field.path()), field, condition));
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate predicate(CriteriaBuilder cb, Path<?> path, Field field, FilterCondition condition) {
+        Expression<Comparable> comparable = (Expression<Comparable>) path;
+        return switch (condition.getOperator()) {
+            case EQ -> cb.equal(path, value(field, condition));
+            case IN -> path.in(condition.getValues().stream().map(value -> convert(field, condition, value)).toList());
+            case GT -> cb.greaterThan(comparable, value(field, condition));
+            case GTE -> cb.greaterThanOrEqualTo(comparable, value(field, condition));
+            case LT -> cb.lessThan(comparable, value(field, condition));
+            case LTE -> cb.lessThanOrEqualTo(comparable, value(field, condition));
+            case PREFIX -> cb.like((Expression<String>) path, escapeLike(condition.getValues().get(0)) + "%", '\\');
+        };
+    }
+
+    private static Path<?> path(Root<?> root, String attributePath) {
+        Path<?> path = root;
+        for (String attribute : attributePath.split("\\.")) {
+            path = path.get(attribute);
+        }
+        return path;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Comparable value(Field field, FilterCondition condition) {
+        return (Comparable) convert(field, condition, condition.getValues().get(0));
+    }
+
+    private static Object convert(Field field, FilterCondition condition, String value) {
+        try {
+            Object converted = conversionService.convert(value.trim(), field.type());
+            if (converted == null) {
+                throw new InvalidFilterException("Missing value for '" + condition.getField() + "'.");
+            }
+            return converted;
+        } catch (ConversionException e) {
+            throw new InvalidFilterException("Invalid value '" + value + "' for '" + condition.getField()
+                    + "', expected " + field.type().getSimpleName() + ".");
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record Field(String path, Class<?> type, String index, Set<FilterOperator> operators) {
+    }
+}
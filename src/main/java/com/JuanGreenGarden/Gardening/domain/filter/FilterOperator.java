@@ -0,0 +1,34 @@
+package com.JuanGreenGarden.Gardening.domain.filter;
+
+import java.util.Locale;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
+
+/**
+ * Operadores que admite la API de filtros. Todos se pueden resolver con un índice B-tree sobre el campo.
+ * {@code PREFIX} se traduce a un {@code LIKE 'valor%'}, que en PostgreSQL con una collation distinta de C solo
+ * usa un índice {@code text_pattern_ops}, así que solo se admite en los campos que lo tienen
+ * (ver {@link com.JuanGreenGarden.Gardening.domain.repository.PatternIndexInitializer}).
+ */
+public enum FilterOperator {
+    EQ,
+    IN,
+    GT,
+    GTE,
+    LT,
+    LTE,
+    PREFIX;
+
+    /**
+     * Convierte el nombre que llega en la petición, por ejemplo {@code eq} o {@code prefix}, en el operador.
+     *
+     * @throws InvalidFilterException Si el operador no existe.
+     */
+    public static FilterOperator parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFilterException("Unknown filter operator '" + name + "'.");
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.JuanGreenGarden.Gardening.domain.filter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Campos que se pueden pedir de un recurso con el parámetro {@code fields} y atributo de la entidad del que
+ * sale cada uno.
+ *
+ * La consulta solo selecciona las columnas de los campos pedidos y cada fila se devuelve como un mapa con
+ * esos campos en el orden pedido, así que el JSON lleva solo esos valores. Las relaciones se recorren con
+ * LEFT JOIN y solo si se pide alguno de sus campos, para no perder las filas que no las tienen.
+ *
+ * @param <T> La entidad que se proyecta.
+ */
+public final class ProjectionDefinition<T> {
+
+    private final Class<T> entityType;
+    private final Map<String, String> fields = new LinkedHashMap<>();
+
+    private ProjectionDefinition(Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <T> ProjectionDefinition<T> of(Class<T> entityType) {
+        return new ProjectionDefinition<>(entityType);
+    }
+
+    /**
+     * Da de alta un campo que se puede pedir.
+     *
+     * @param name El nombre del campo en el JSON.
+     * @param path La ruta del atributo en la entidad, por ejemplo {@code employeeField.officeField.city}.
+     */
+    public ProjectionDefinition<T> field(String name, String path) {
+        fields.put(name, path);
+        return this;
+    }
+
+    /**
+     * Lee la lista de campos del parámetro {@code fields}, separados por comas y sin repetir.
+     *
+     * @throws InvalidFilterException Si la lista está vacía o algún campo no existe.
+     */
+    public List<String> parse(String fieldList) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fieldList.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!fields.containsKey(name)) {
+                throw new InvalidFilterException("Unknown field '" + name + "', available fields are " + fields.keySet() + ".");
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidFilterException("At least one field is required, available fields are " + fields.keySet() + ".");
+        }
+        return new ArrayList<>(requested);
+    }
+
+    /**
+     * Lee solo los campos pedidos de las filas que cumplen una condición.
+     *
+     * @param entityManager El EntityManager con el que se lanza la consulta.
+     * @param fieldList     Los campos separados por comas, tal como llegan en el parámetro {@code fields}.
+     * @param where         La condición de las filas, o null para leerlas todas.
+     * @return Una lista con un mapa de campo a valor por cada fila.
+     * @throws InvalidFilterException Si algún campo no existe.
+     */
+    public List<Map<String, Object>> select(EntityManager entityManager, String fieldList, Specification<T> where) {
+        List<String> names = parse(fieldList);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(entityType);
+
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(names.size());
+        for (String name : names) {
+            selections.add(path(root, joins, fields.get(name)).alias(name));
+        }
+        query.multiselect(selections);
+        if (where != null) {
+            query.where(where.toPredicate(root, query, cb));
+        }
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String name : names) {
+                values.put(name, row.get(name));
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    private static Path<?> path(Root<?> root, Map<String, From<?, ?>> joins, String attributePath) {
+        String[] attributes = attributePath.split("\\.");
+        From<?, ?> from = root;
+        String joined = "";
+        for (int i = 0; i < attributes.length - 1; i++) {
+            From<?, ?> parent = from;
+            String attribute = attributes[i];
+            joined = joined + "." + attribute;
+            from = joins.computeIfAbsent(joined, key -> parent.join(attribute, JoinType.LEFT));
+        }
+        return from.get(attributes[attributes.length - 1]);
+    }
+}
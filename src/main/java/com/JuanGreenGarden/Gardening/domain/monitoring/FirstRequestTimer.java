@@ -0,0 +1,62 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mide el tiempo desde que arranca la JVM hasta que se responde la primera petición.
+ *
+ * Con inicialización perezosa la aplicación queda lista antes, pero la primera petición paga la creación de
+ * los beans que usa, así que este es el tiempo que importa en un despliegue. Se publica como
+ * {@code application.first-request.time}.
+ */
+@Component
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    @Autowired
+    public FirstRequestTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return recorded.get();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (recorded.compareAndSet(false, true)) {
+                long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                TimeGauge.builder("application.first-request.time", () -> uptime, TimeUnit.MILLISECONDS)
+                        .description("Time from JVM start until the first request was served")
+                        .register(meterRegistry);
+                log.info("First request ({} {}) served {} ms after JVM start", request.getMethod(),
+                        request.getRequestURI(), uptime);
+            }
+        }
+    }
+}
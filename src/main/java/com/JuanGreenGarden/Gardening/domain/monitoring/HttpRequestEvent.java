@@ -0,0 +1,32 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR con la duración de una petición HTTP, el endpoint que la atendió y el usuario del token.
+ */
+@Name("com.JuanGreenGarden.Gardening.HttpRequest")
+@Label("HTTP Request")
+@Category({ "Gardening", "Web" })
+@Description("An HTTP request served by a controller")
+@StackTrace(false)
+class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("User")
+    @Description("Subject of the JWT, or null for anonymous requests")
+    String user;
+}
@@ -0,0 +1,94 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Emite un {@link ServiceMethodEvent} por cada llamada a un servicio de {@code domain.service} y un
+ * {@link RepositoryCallEvent} por cada llamada a un repositorio, con el endpoint y el usuario de la petición
+ * en curso.
+ *
+ * Tiene la máxima precedencia para que la duración incluya la transacción y el resto de aspectos. Con JFR
+ * apagado los eventos están deshabilitados y el aspecto solo comprueba {@code isEnabled()}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JfrEventAspect {
+
+    @Around("within(com.JuanGreenGarden.Gardening.domain.service..*)")
+    public Object recordServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceMethodEvent event = new ServiceMethodEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.endpoint = currentEndpoint();
+                event.user = currentUser();
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = RepositoryRowCountAspect.repositoryName(joinPoint.getThis());
+                event.method = joinPoint.getSignature().getName();
+                event.rows = RepositoryRowCountAspect.rows(result);
+                event.endpoint = currentEndpoint();
+                event.user = currentUser();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Patrón del endpoint que atiende la petición en curso, por ejemplo {@code /api/customers/{id}}, o null
+     * si la llamada no viene de una petición HTTP (por ejemplo, un trabajo de reporte).
+     */
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : null;
+    }
+
+    /**
+     * Sujeto del JWT de la petición en curso, o null si no está autenticada.
+     */
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+}
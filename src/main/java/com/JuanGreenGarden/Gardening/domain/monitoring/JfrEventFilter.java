@@ -0,0 +1,45 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Emite un {@link HttpRequestEvent} por cada petición mientras haya una grabación de JFR que lo recoja.
+ *
+ * Si no hay ninguna grabación activa el evento está deshabilitado y el filtro solo deja pasar la petición.
+ */
+@Component
+public class JfrEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpRequestEvent event = new HttpRequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.method = request.getMethod();
+                event.endpoint = pattern != null ? pattern.toString() : request.getRequestURI();
+                event.status = response.getStatus();
+                event.user = JfrEventAspect.currentUser();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
+import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.persistence.entity.JfrRecordingInfo;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Lanza y detiene grabaciones de Java Flight Recorder acotadas en duración y tamaño.
+ *
+ * Solo hay una grabación a la vez. Cada grabación activa los eventos de la JVM de la configuración elegida
+ * ({@code default} o {@code profile}) y los eventos propios de la aplicación ({@link HttpRequestEvent},
+ * {@link ServiceMethodEvent} y {@link RepositoryCallEvent}). Al cumplirse la duración la grabación se detiene
+ * sola y se vuelca en un fichero {@code .jfr}, que se conserva hasta que empiece la siguiente.
+ */
+@Component
+public class JfrRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecorder.class);
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final Path storageDir;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private String settings;
+    private Path file;
+
+    @Autowired
+    public JfrRecorder(@Value("${app.monitoring.jfr.storage-dir:${java.io.tmpdir}/gardening-jfr}") String storageDir,
+                       @Value("${app.monitoring.jfr.max-duration-seconds:600}") long maxDurationSeconds,
+                       @Value("${app.monitoring.jfr.max-size-mb:200}") long maxSizeMb) {
+        this.storageDir = Paths.get(storageDir);
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Empieza una grabación. Si ya hay una en curso se devuelve esa en lugar de empezar otra.
+     *
+     * @param durationSeconds Segundos tras los que la grabación se detiene sola.
+     * @param maxSizeMb       Tamaño máximo de la grabación; al superarlo se descartan los datos más antiguos.
+     * @param settings        La configuración de JFR, {@code default} o {@code profile}.
+     * @return El estado de la grabación.
+     * @throws DifferentDataTypeException Si la duración, el tamaño o la configuración no son válidos.
+     */
+    public synchronized JfrRecordingInfo start(long durationSeconds, long maxSizeMb, String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return info();
+        }
+        if (durationSeconds <= 0 || durationSeconds > maxDuration.toSeconds()) {
+            throw new DifferentDataTypeException("The duration must be between 1 and " + maxDuration.toSeconds() + " seconds.");
+        }
+        if (maxSizeMb <= 0 || maxSizeMb * 1024 * 1024 > maxSizeBytes) {
+            throw new DifferentDataTypeException("The maximum size must be between 1 and " + maxSizeBytes / (1024 * 1024) + " MB.");
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new DifferentDataTypeException("Unknown JFR settings '" + settings + "', use one of " + SETTINGS + ".");
+        }
+
+        close();
+        try {
+            Files.createDirectories(storageDir);
+            Recording started = new Recording(Configuration.getConfiguration(settings));
+            started.setName("gardening");
+            started.enable(HttpRequestEvent.class);
+            started.enable(ServiceMethodEvent.class);
+            started.enable(RepositoryCallEvent.class);
+            started.setToDisk(true);
+            started.setMaxSize(maxSizeMb * 1024 * 1024);
+            started.setDuration(Duration.ofSeconds(durationSeconds));
+            Path destination = storageDir.resolve("gardening-" + started.getId() + ".jfr");
+            started.setDestination(destination);
+            started.start();
+            this.recording = started;
+            this.settings = settings;
+            this.file = destination;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start the JFR recording in " + storageDir, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Cannot read the JFR settings " + settings, e);
+        }
+        log.info("Started JFR recording {} with settings {} for {} s, up to {} MB", recording.getId(), settings,
+                durationSeconds, maxSizeMb);
+        return info();
+    }
+
+    /**
+     * Detiene la grabación, si no se había detenido ya sola, y devuelve el fichero con lo grabado.
+     *
+     * @return La ruta del fichero {@code .jfr}.
+     * @throws NotFoundEndPoint Si no se ha lanzado ninguna grabación.
+     */
+    public synchronized Path stop() {
+        Recording current = current();
+        if (current.getState() == RecordingState.RUNNING || current.getState() == RecordingState.DELAYED) {
+            current.stop();
+            log.info("Stopped JFR recording {}, written to {}", current.getId(), file);
+        }
+        if (!Files.exists(file)) {
+            throw new NotFoundEndPoint("The JFR recording " + current.getId() + " has no data yet.");
+        }
+        return file;
+    }
+
+    /**
+     * @return El estado de la última grabación.
+     * @throws NotFoundEndPoint Si no se ha lanzado ninguna grabación.
+     */
+    public synchronized JfrRecordingInfo status() {
+        current();
+        return info();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete JFR recording {}", file, e);
+            }
+            file = null;
+        }
+    }
+
+    private Recording current() {
+        if (recording == null) {
+            throw new NotFoundEndPoint("No JFR recording has been started.");
+        }
+        return recording;
+    }
+
+    private JfrRecordingInfo info() {
+        long size;
+        try {
+            size = Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            size = 0;
+        }
+        return new JfrRecordingInfo(recording.getId(), recording.getState().name(), settings,
+                recording.getStartTime(), recording.getStopTime(), recording.getDuration(), recording.getMaxSize(), size);
+    }
+}
@@ -0,0 +1,46 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Añade a cada respuesta la cabecera {@code X-Query-Count} con las sentencias SQL que lanzó la petición.
+ *
+ * Solo se activa con el perfil {@code debug}: guarda el cuerpo de la respuesta en memoria hasta el final,
+ * porque las cabeceras ya no se pueden cambiar una vez que se empieza a escribir, y durante la serialización
+ * todavía se pueden lanzar consultas.
+ */
+@Component
+@Profile("debug")
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            long queries = QueryCounter.stop();
+            wrapper.setHeader(HEADER, Long.toString(queries));
+            wrapper.copyBodyToResponse();
+            log.debug("{} {} ran {} SQL statements", request.getMethod(), request.getRequestURI(), queries);
+        }
+    }
+}
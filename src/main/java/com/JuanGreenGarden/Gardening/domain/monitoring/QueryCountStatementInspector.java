@@ -0,0 +1,19 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Avisa a {@link QueryCounter} de cada sentencia que prepara Hibernate, sin modificarla.
+ *
+ * Se registra con {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}. Las sesiones sin
+ * estado no lo usan (ver {@code StatelessReadRepository}) y las sentencias que no pasan por Hibernate
+ * (JdbcTemplate, COPY) no se cuentan.
+ */
+public class QueryCountStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,51 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual entre {@link #start()} y {@link #stop()}.
+ *
+ * Fuera de ese intervalo no cuenta nada, así que {@link QueryCountStatementInspector} puede quedarse siempre
+ * registrado. Sirve para detectar consultas N+1: una petición que lanza cientos de sentencias en lugar de una o dos.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Empieza a contar en el hilo actual, desde cero.
+     */
+    public static void start() {
+        COUNT.set(new long[1]);
+    }
+
+    /**
+     * Deja de contar en el hilo actual.
+     *
+     * @return Las sentencias preparadas desde {@link #start()}, o 0 si no se estaba contando.
+     */
+    public static long stop() {
+        long count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    /**
+     * @return Las sentencias preparadas hasta ahora, o 0 si no se está contando.
+     */
+    public static long current() {
+        long[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    /**
+     * Suma una sentencia si se está contando en el hilo actual.
+     */
+    public static void increment() {
+        long[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR con la duración de una llamada a un repositorio de Spring Data y las filas que devolvió.
+ */
+@Name("com.JuanGreenGarden.Gardening.RepositoryCall")
+@Label("Repository Call")
+@Category({ "Gardening", "Repository" })
+@Description("A call to a Spring Data repository method")
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    @Description("Rows returned, or -1 for scalar results and streams")
+    long rows;
+
+    @Label("Endpoint")
+    @Description("Endpoint of the HTTP request, or null outside of a request")
+    String endpoint;
+
+    @Label("User")
+    String user;
+}
@@ -0,0 +1,94 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.BaseStream;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registra cuántas filas devuelve cada método de los repositorios de Spring Data.
+ *
+ * Se publica como {@code spring.data.repository.rows}, con las mismas etiquetas {@code repository} y
+ * {@code method} que el temporizador {@code spring.data.repository.invocations} de Spring Boot, para poder
+ * cruzar la duración de una consulta con su tamaño. Los resultados escalares (conteos, sumas, {@code exists})
+ * y los {@code Stream}, que se consumen después de salir del repositorio, no se registran.
+ */
+@Aspect
+@Component
+public class RepositoryRowCountAspect {
+
+    private static final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public RepositoryRowCountAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRows(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        long rows = rows(result);
+        if (rows >= 0) {
+            DistributionSummary.builder("spring.data.repository.rows")
+                    .baseUnit("rows")
+                    .tag("repository", repositoryName(joinPoint.getThis()))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(rows);
+        }
+        return result;
+    }
+
+    /**
+     * Devuelve el número de filas del resultado, o -1 si el resultado no es una lista de filas ni una entidad.
+     */
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>
+                || result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+
+    /**
+     * Nombre de la interfaz del repositorio, por ejemplo {@code CustomerRepository}, aunque el método
+     * se herede de {@code JpaRepository}.
+     */
+    static String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> candidate : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (Repository.class.isAssignableFrom(candidate)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
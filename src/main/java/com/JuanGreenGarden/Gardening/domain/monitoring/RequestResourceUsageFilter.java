@@ -0,0 +1,83 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.sun.management.ThreadMXBean;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mide el tiempo de CPU y la memoria reservada por el hilo que atiende cada petición.
+ *
+ * Los valores se publican como {@code http.server.requests.cpu} (nanosegundos) y
+ * {@code http.server.requests.allocated} (bytes), etiquetados por endpoint, para comparar
+ * el coste de cada consulta antes y después de un cambio.
+ */
+@Component
+public class RequestResourceUsageFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestResourceUsageFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final ThreadMXBean threadMXBean;
+    private final boolean enabled;
+
+    @Autowired
+    public RequestResourceUsageFilter(MeterRegistry meterRegistry,
+                                      @Value("${app.monitoring.request-usage.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.enabled = enabled
+                && threadMXBean.isCurrentThreadCpuTimeSupported()
+                && threadMXBean.isThreadAllocatedMemorySupported();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long threadId = Thread.currentThread().getId();
+        long cpuBefore = threadMXBean.getCurrentThreadCpuTime();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long cpu = threadMXBean.getCurrentThreadCpuTime() - cpuBefore;
+            long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("http.server.requests.cpu")
+                    .baseUnit("nanoseconds")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(cpu);
+            DistributionSummary.builder("http.server.requests.allocated")
+                    .baseUnit("bytes")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(allocated);
+            log.debug("{} {} used {} us of CPU and allocated {} bytes", request.getMethod(), uri, cpu / 1_000, allocated);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de JFR con la duración de un método de servicio y la petición desde la que se llamó.
+ */
+@Name("com.JuanGreenGarden.Gardening.ServiceMethod")
+@Label("Service Method")
+@Category({ "Gardening", "Service" })
+@Description("A call to a method of a class in domain.service")
+@StackTrace(false)
+class ServiceMethodEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Endpoint of the HTTP request, or null outside of a request")
+    String endpoint;
+
+    @Label("User")
+    String user;
+}
@@ -0,0 +1,89 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Detecta las sentencias que tardan más que {@code app.monitoring.slow-query.threshold-ms} en el DataSource
+ * principal y las registra con sus parámetros y el método de servicio que las lanzó.
+ *
+ * Cada consulta lenta se guarda en {@link SlowQueryLog}, que decide si además se obtiene su plan de ejecución.
+ */
+@Component
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private static final String SERVICE_PACKAGE = "com.JuanGreenGarden.Gardening.domain.service.";
+
+    private final SlowQueryLog slowQueryLog;
+    private final boolean enabled;
+    private final long thresholdMillis;
+
+    @Autowired
+    public SlowQueryListener(SlowQueryLog slowQueryLog,
+                             @Value("${app.monitoring.slow-query.enabled:true}") boolean enabled,
+                             @Value("${app.monitoring.slow-query.threshold-ms:500}") long thresholdMillis) {
+        this.slowQueryLog = slowQueryLog;
+        this.enabled = enabled;
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!enabled || execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        String caller = caller();
+        for (QueryInfo queryInfo : queryInfoList) {
+            // En un lote todas las ejecuciones comparten la sentencia; con los parámetros de la primera basta
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            List<Object> parameters = parametersList.isEmpty() ? List.of() : values(parametersList.get(0));
+            log.warn("Slow query ({} ms{}) from {}: {} {}", execInfo.getElapsedTime(),
+                    execInfo.isBatch() ? ", batch of " + execInfo.getBatchSize() : "",
+                    caller, queryInfo.getQuery(), parameters);
+            slowQueryLog.add(execInfo.getElapsedTime(), queryInfo.getQuery(), parameters, caller);
+        }
+    }
+
+    /**
+     * Busca en la pila el primer método de un servicio, por ejemplo {@code OrderService.getDelayedOrders:95}.
+     */
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE) && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(SERVICE_PACKAGE.length()) + "." + frame.getMethodName()
+                        + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    /**
+     * Devuelve los valores de los parámetros en el orden de sus posiciones. Los {@code setNull} quedan como null.
+     */
+    private static List<Object> values(List<ParameterSetOperation> operations) {
+        List<ParameterSetOperation> sorted = new ArrayList<>(operations);
+        sorted.sort(Comparator.comparing(operation -> operation.getArgs()[0] instanceof Integer index ? index : 0));
+        List<Object> values = new ArrayList<>(sorted.size());
+        for (ParameterSetOperation operation : sorted) {
+            values.add(ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,149 @@
+package com.JuanGreenGarden.Gardening.domain.monitoring;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.JuanGreenGarden.Gardening.persistence.entity.SlowQuery;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Guarda las últimas consultas lentas en un buffer circular y, para una muestra de las que son SELECT,
+ * obtiene su plan con {@code EXPLAIN (ANALYZE, BUFFERS)}.
+ *
+ * El EXPLAIN vuelve a ejecutar la consulta, así que se lanza en un hilo propio, con una conexión del pool de
+ * reportes (de solo lectura), un {@code statement_timeout} y dentro de una transacción que se deshace al terminar.
+ * Si ya hay demasiados EXPLAIN pendientes, los nuevos se descartan. Solo se capturan planes en PostgreSQL.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final Deque<SlowQuery> entries = new ArrayDeque<>();
+    private final DataSource reportingDataSource;
+    private final int capacity;
+    private final double explainSampleRate;
+    private final long explainTimeoutMillis;
+    private final ThreadPoolExecutor explainExecutor;
+
+    @Autowired
+    public SlowQueryLog(@Qualifier("reportingDataSource") DataSource reportingDataSource,
+                        @Value("${app.monitoring.slow-query.capacity:100}") int capacity,
+                        @Value("${app.monitoring.slow-query.explain-sample-rate:0.1}") double explainSampleRate,
+                        @Value("${app.monitoring.slow-query.explain-timeout-ms:30000}") long explainTimeoutMillis) {
+        this.reportingDataSource = reportingDataSource;
+        this.capacity = capacity;
+        this.explainSampleRate = explainSampleRate;
+        this.explainTimeoutMillis = explainTimeoutMillis;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    /**
+     * Registra una consulta lenta y, si entra en la muestra, encola su EXPLAIN.
+     *
+     * @param elapsedMillis Lo que tardó la consulta.
+     * @param sql           La sentencia, con {@code ?} en lugar de los parámetros.
+     * @param parameters    Los valores de los parámetros, en orden.
+     * @param caller        El método de servicio que la lanzó.
+     */
+    public void add(long elapsedMillis, String sql, List<Object> parameters, String caller) {
+        List<String> printed = new ArrayList<>(parameters.size());
+        parameters.forEach(parameter -> printed.add(String.valueOf(parameter)));
+        SlowQuery entry = new SlowQuery(Instant.now(), elapsedMillis, sql, printed, caller);
+        synchronized (entries) {
+            if (entries.size() == capacity) {
+                entries.removeLast();
+            }
+            entries.addFirst(entry);
+        }
+        if (isSelect(sql) && ThreadLocalRandom.current().nextDouble() < explainSampleRate) {
+            explainExecutor.execute(() -> explain(entry, parameters));
+        }
+    }
+
+    /**
+     * @return Las consultas lentas guardadas, de la más reciente a la más antigua.
+     */
+    public List<SlowQuery> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void explain(SlowQuery entry, List<Object> parameters) {
+        try (Connection connection = reportingDataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                entry.setPlanError("Plans are only captured on PostgreSQL");
+                return;
+            }
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + explainTimeoutMillis);
+                }
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + entry.getSql())) {
+                    for (int i = 0; i < parameters.size(); i++) {
+                        statement.setObject(i + 1, parameters.get(i));
+                    }
+                    StringBuilder plan = new StringBuilder();
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    entry.setPlan(plan.toString());
+                }
+            } finally {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            log.debug("Could not explain slow query {}", entry.getSql(), e);
+            entry.setPlanError(e.getMessage());
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "select", 0, 6) || statement.regionMatches(true, 0, "with", 0, 4);
+    }
+}
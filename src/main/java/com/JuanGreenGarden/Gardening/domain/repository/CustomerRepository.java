@@ -3,33 +3,15 @@ package com.JuanGreenGarden.Gardening.domain.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Integer>{
-    
-    /**
-     * Busca clientes por país.
-     * 
-     * @param country El país de los clientes a buscar.
-     * @return Una lista de clientes que pertenecen al país especificado.
-     */
-    List<Customer> findByCountry(String country);
-
-    /**
-     * Busca clientes por ciudad y números de representantes de ventas.
-     * 
-     * @param city La ciudad de los clientes a buscar.
-     * @param employeeNumbers Los números de los representantes de ventas.
-     * @return Una lista de clientes que están en la ciudad especificada y tienen representantes de ventas con los números especificados.
-     */
-    List<Customer> findByCityAndEmployeeField_EmployeeNumberIn(String city, List<Integer> employeeNumbers);
+public interface CustomerRepository extends ReadOnlyFindAllRepository<Customer, Integer>, JpaSpecificationExecutor<Customer> {
 
-    
 /**
      * Encuentra una lista de clientes que tienen pagos asociados.
      *
@@ -78,27 +60,19 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer>{
     List<Object[]> countCustomersByCountry();
 
     /**
-     * Calcula el número total de clientes.
+     * Lee el nombre y la ciudad de todos los clientes, para las sugerencias por prefijo.
      *
-     * @return El número total de clientes.
+     * @return Lista de arreglos de objetos con el nombre del cliente y su ciudad.
      */
-    long count();
+    @Query("SELECT c.customerName, c.city FROM Customer c")
+    List<Object[]> findCustomerNamesAndCities();
 
     /**
-     * Cuenta el número de clientes con domicilio en la ciudad de Madrid.
-     *
-     * @param city La ciudad para la cual se desea contar los clientes.
-     * @return El número de clientes con domicilio en la ciudad de Madrid.
-     */
-    long countByCity(String city);
-
-    /**
-     * Cuenta el número de clientes por ciudad que comienza con la letra "M".
+     * Calcula el número total de clientes.
      *
-     * @param cityPrefix Prefijo de la ciudad para filtrar las ciudades que comienzan con la letra "M".
-     * @return Lista de objetos Object[], donde el primer elemento es el nombre de la ciudad y el segundo elemento es el número de clientes en esa ciudad.
+     * @return El número total de clientes.
      */
-    List<Object[]> countCustomersByCityStartingWith(String cityPrefix);
+    long count();
 
     /**
      * Consulta personalizada para contar el número de clientes que no tienen asignado un representante de ventas.
@@ -109,13 +83,6 @@ public interface CustomerRepository extends JpaRepository<Customer, Integer>{
     long countCustomersWithoutSalesRepresentative();
 
     
-    /**
-     * Encuentra todos los clientes.
-     *
-     * @return Una lista de todos los clientes.
-     */
-    List<Customer> findAll();
-
     /**
      * Encuentra los detalles de los clientes que no tienen pagos asociados y los representantes de ventas
      * con el nombre de su jefe y la ciudad de la oficina.
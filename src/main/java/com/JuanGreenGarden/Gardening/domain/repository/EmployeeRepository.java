@@ -5,13 +5,13 @@ import java.util.List;
 
 import org.springframework.data.jpa.repository.Query;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import com.JuanGreenGarden.Gardening.persistence.entity.Employee;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Integer>  {
+public interface EmployeeRepository extends ReadOnlyFindAllRepository<Employee, Integer>, JpaSpecificationExecutor<Employee> {
     
     /**
      * Busca empleados por el número de su jefe.
@@ -30,13 +30,12 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer>  {
 
     /**
      * Busca empleados que no tienen un título de trabajo específico.
-     * 
+     *
      * @param jobTitle El título de trabajo que los empleados no deben tener.
      * @return Una lista de empleados que no tienen el título de trabajo especificado.
      */
     List<Employee> findByJobTitleNot(String jobTitle);
 
-
     /**
      * Encuentra una lista de empleados que no tienen una oficina asociada.
      *
@@ -1,7 +1,6 @@
 package com.JuanGreenGarden.Gardening.domain.repository;
 
 import java.util.List;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -11,7 +10,7 @@ import com.JuanGreenGarden.Gardening.persistence.entity.Office;
  * Repositorio para acceder a la tabla de oficinas.
  */
 @Repository
-public interface OfficeRepository extends JpaRepository<Office, String> {
+public interface OfficeRepository extends ReadOnlyFindAllRepository<Office, String> {
     
     /**
      * Consulta para obtener los códigos de oficina y las ciudades.
@@ -4,7 +4,6 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
@@ -14,7 +13,7 @@ import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetailId;
  * Repositorio para la entidad OrderDetail.
  */
 @Repository
-public interface OrderDetailRepository extends JpaRepository<OrderDetail, OrderDetailId> {
+public interface OrderDetailRepository extends ReadOnlyFindAllRepository<OrderDetail, OrderDetailId> {
     
     /**
      * Consulta personalizada para obtener el número de productos diferentes en cada pedido.
@@ -50,7 +49,4 @@ public interface OrderDetailRepository extends JpaRepository<OrderDetail, OrderD
      */
     @Query("SELECT od FROM OrderDetail od WHERE od.priceEach * od.quantityOrdered > 3000")
     List<OrderDetail> findOrderDetailsWithTotalGreaterThan3000();
-
-
 }
-
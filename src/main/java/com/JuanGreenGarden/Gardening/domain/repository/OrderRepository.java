@@ -3,7 +3,6 @@ package com.JuanGreenGarden.Gardening.domain.repository;
 import java.util.Date;
 import java.util.List;
 
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +12,7 @@ import com.JuanGreenGarden.Gardening.persistence.entity.Order;
  * Repositorio para la entidad Order.
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Integer> {
+public interface OrderRepository extends ReadOnlyFindAllRepository<Order, Integer> {
 
     /**
      * Encuentra las órdenes retrasadas.
@@ -77,4 +76,3 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
     @Query("SELECT o.status, COUNT(o) AS total FROM Order o GROUP BY o.status ORDER BY total DESC")
     List<Object[]> countOrdersByStatus();
 }
-
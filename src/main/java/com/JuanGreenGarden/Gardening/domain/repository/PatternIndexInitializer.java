@@ -0,0 +1,81 @@
+package com.JuanGreenGarden.Gardening.domain.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Crea en PostgreSQL los índices {@code text_pattern_ops} de las columnas que se filtran por prefijo.
+ *
+ * Con una collation distinta de C, PostgreSQL no usa un índice normal para {@code LIKE 'x%'} y recorre la tabla
+ * entera. Estos índices no se pueden declarar con {@code @Index} de JPA, así que se crean al arrancar con
+ * {@code CREATE INDEX CONCURRENTLY IF NOT EXISTS}, en un hilo aparte para no bloquear las escrituras ni el arranque.
+ * En otras bases de datos no se hace nada: H2 ya usa los índices normales para los prefijos.
+ */
+@Component
+public class PatternIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(PatternIndexInitializer.class);
+
+    private static final String[] INDEXES = {
+            "idx_cliente_nombre_patron ON cliente (nombre_cliente text_pattern_ops)",
+            "idx_cliente_ciudad_patron ON cliente (ciudad text_pattern_ops)",
+            "idx_producto_codigo_patron ON producto (codigo_producto text_pattern_ops)",
+            "idx_detalle_pedido_producto_patron ON detalle_pedido (codigo_producto text_pattern_ops)" };
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    @Autowired
+    public PatternIndexInitializer(@Qualifier("oltpDataSource") DataSource dataSource,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${app.schema.pattern-indexes:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled && entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::createMissingIndexes, "pattern-indexes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void createMissingIndexes() {
+        try (Connection connection = dataSource.getConnection()) {
+            // CREATE INDEX CONCURRENTLY no se puede lanzar dentro de una transacción
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                for (String index : INDEXES) {
+                    long start = System.nanoTime();
+                    statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index);
+                    log.debug("Pattern index checked: {} in {} ms", index, (System.nanoTime() - start) / 1_000_000);
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.warn("Could not create the prefix search indexes, LIKE queries will scan the tables", e);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,7 +15,7 @@ import com.JuanGreenGarden.Gardening.persistence.entity.Product;
  * Repositorio para la entidad Payment.
  */
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Integer> {
+public interface PaymentRepository extends ReadOnlyFindAllRepository<Payment, Integer> {
 
     /**
      * Encuentra los números de cliente distintos en el año 2008.
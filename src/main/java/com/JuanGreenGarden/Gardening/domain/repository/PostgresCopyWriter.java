@@ -0,0 +1,103 @@
+package com.JuanGreenGarden.Gardening.domain.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Escribe filas en una tabla de Postgres con {@code COPY ... FROM STDIN} en formato CSV.
+ *
+ * Las filas se acumulan en un búfer de tamaño fijo que se envía al servidor al llenarse,
+ * así que la memoria usada no depende del número de filas.
+ */
+public class PostgresCopyWriter implements AutoCloseable {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(BUFFER_CHARS + 1024);
+
+    /**
+     * Abre un COPY sobre la tabla y columnas indicadas.
+     *
+     * @param connection La conexión, que debe ser de Postgres.
+     * @param table      La tabla de destino.
+     * @param columns    Las columnas, en el orden en que se escribirán los valores.
+     * @throws SQLException Si la conexión no es de Postgres o el servidor rechaza el COPY.
+     */
+    public PostgresCopyWriter(Connection connection, String table, String... columns) throws SQLException {
+        if (!isSupported(connection)) {
+            throw new SQLException("COPY requires a PostgreSQL connection");
+        }
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    /**
+     * Indica si la conexión admite COPY.
+     *
+     * @param connection La conexión a comprobar.
+     * @return true si es una conexión de Postgres.
+     */
+    public static boolean isSupported(Connection connection) throws SQLException {
+        return connection.isWrapperFor(PGConnection.class);
+    }
+
+    /**
+     * Añade una fila. Los valores nulos se escriben como NULL y el resto con su {@code toString()}.
+     *
+     * @param values Los valores de la fila, en el orden de las columnas.
+     */
+    public void writeRow(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof Number) {
+                buffer.append(value);
+            } else {
+                buffer.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        buffer.append('\n');
+        if (buffer.length() >= BUFFER_CHARS) {
+            flush();
+        }
+    }
+
+    /**
+     * Envía las filas pendientes y cierra el COPY.
+     *
+     * @return El número de filas que ha cargado el servidor.
+     */
+    public long finish() throws SQLException {
+        flush();
+        return copyIn.endCopy();
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.length() == 0) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    /**
+     * Cancela el COPY si no se ha llegado a terminar, por ejemplo tras un error de lectura.
+     */
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+}
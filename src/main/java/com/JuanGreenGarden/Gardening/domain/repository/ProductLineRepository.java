@@ -1,6 +1,5 @@
 package com.JuanGreenGarden.Gardening.domain.repository;
 
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import com.JuanGreenGarden.Gardening.persistence.entity.ProductLine;
@@ -9,7 +8,7 @@ import com.JuanGreenGarden.Gardening.persistence.entity.ProductLine;
  * Repositorio para la entidad ProductLine.
  */
 @Repository
-public interface ProductLineRepository extends JpaRepository<ProductLine, String> {
+public interface ProductLineRepository extends ReadOnlyFindAllRepository<ProductLine, String> {
     
     /**
      * Busca una línea de producto por su nombre.
@@ -18,6 +17,4 @@ public interface ProductLineRepository extends JpaRepository<ProductLine, String
      * @return La línea de producto correspondiente al nombre especificado.
      */
     ProductLine findByProductLine(String productLine);
-
 }
-
@@ -3,10 +3,11 @@ package com.JuanGreenGarden.Gardening.domain.repository;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import com.JuanGreenGarden.Gardening.persistence.entity.Product;
@@ -15,16 +16,25 @@ import com.JuanGreenGarden.Gardening.persistence.entity.Product;
  * Repositorio para la entidad Product.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, String> {
+public interface ProductRepository extends ReadOnlyFindAllRepository<Product, String>, JpaSpecificationExecutor<Product> {
+
+    /**
+     * Letras latinas en minúscula con diacríticos que {@link #SEARCH_DOCUMENT} cambia por la letra sin ellos, en
+     * el mismo orden que {@link #FOLDED_LETTERS}. Son las de Latin-1 y Latin Extended-A que se descomponen en una
+     * letra ASCII y sus marcas; letras como {@code ø}, {@code æ} o {@code ß} se quedan como están.
+     */
+    String ACCENTED_LETTERS = "àáâãäåçèéêëìíîïñòóôõöùúûüýÿāăąćĉċčďēĕėęěĝğġģĥĩīĭįĵķĺļľńņňōŏőŕŗřśŝşšţťũūŭůűųŵŷźżž";
+
+    String FOLDED_LETTERS = "aaaaaaceeeeiiiinooooouuuuyyaaaccccdeeeeegggghiiiijklllnnnooorrrssssttuuuuuuwyzzz";
 
     /**
-     * Busca productos por la línea de producto y la cantidad en stock.
-     * 
-     * @param productLine      La línea de producto.
-     * @param quantityInStock  La cantidad mínima en stock.
-     * @return                 Una lista de productos que coinciden con los criterios especificados.
+     * Documento de {@link #searchByFullText}: nombre, proveedor y descripción en minúsculas y sin tildes, con
+     * pesos A, B y C. No usa {@code unaccent} porque es una extensión que no tiene por qué estar instalada.
      */
-    List<Product> findByProductLineFieldProductLineAndQuantityInStockGreaterThan(String productLine, int quantityInStock);
+    String SEARCH_DOCUMENT =
+            "(setweight(to_tsvector('simple', translate(lower(p.nombre), '" + ACCENTED_LETTERS + "', '" + FOLDED_LETTERS + "')), 'A') || " +
+            "setweight(to_tsvector('simple', translate(lower(coalesce(p.proveedor, '')), '" + ACCENTED_LETTERS + "', '" + FOLDED_LETTERS + "')), 'B') || " +
+            "setweight(to_tsvector('simple', translate(lower(coalesce(p.descripcion, '')), '" + ACCENTED_LETTERS + "', '" + FOLDED_LETTERS + "')), 'C'))";
 
     /**
      * Encuentra los productos que no están incluidos en ninguna orden.
@@ -36,31 +46,41 @@ public interface ProductRepository extends JpaRepository<Product, String> {
 
 
     /**
-     * Busca el producto con el precio de venta más alto.
+     * Lee las columnas de todos los productos con el nombre de su gama, sin cargar las entidades.
      *
-     * @return El producto con el precio de venta más alto.
+     * @return Una lista de arrays con el código, el nombre, las dimensiones, el proveedor, la descripción, el stock,
+     *         el precio de venta, el precio de proveedor y la gama de cada producto.
      */
-    @Query("SELECT p FROM Product p ORDER BY p.buyPrice DESC")
-    Page<Product> findProductsWithHighestPrice(Pageable pageable);
+    @Query("SELECT p.productCode, p.productName, p.productScale, p.productVendor, p.productDescription, " +
+           "p.quantityInStock, p.buyPrice, p.MSRP, p.productLineField.productLine FROM Product p")
+    List<Object[]> findCatalogRows();
 
     /**
-     * Busca el producto con el precio de venta más bajo.
+     * Busca productos por texto con {@code tsvector}, mientras el índice en memoria no está listo. Los textos se
+     * pasan a minúsculas y se les quitan las tildes de {@link #ACCENTED_LETTERS}, lo que se acerca a lo que hace
+     * el índice pero no es igual: allí se quitan todas las marcas diacríticas de cualquier letra. El nombre pesa
+     * más que el proveedor y este más que la descripción. Solo funciona en PostgreSQL.
      *
-     * @return El producto con el precio de venta más bajo.
+     * @param query La consulta de {@code to_tsquery}, por ejemplo {@code rosa:* & roja:*}.
+     * @param limit El número máximo de productos.
+     * @return Los códigos de los productos encontrados, del más relevante al que menos.
      */
-    @Query("SELECT p FROM Product p ORDER BY p.buyPrice ASC")
-    Page<Product> findProductsWithLowestPrice(Pageable pageable);
+    @Query(value = "SELECT p.codigo_producto FROM producto p, to_tsquery('simple', :query) q " +
+                   "WHERE " + SEARCH_DOCUMENT + " @@ q " +
+                   "ORDER BY ts_rank(" + SEARCH_DOCUMENT + ", q) DESC, p.codigo_producto " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<String> searchByFullText(@Param("query") String query, @Param("limit") int limit);
 
     /**
-     * Encuentra los productos más vendidos.
-     * @param pageable Objeto Pageable para la paginación y ordenamiento de resultados.
-     * @return Lista de productos más vendidos.
+     * Suma las unidades vendidas de cada producto por mes de la fecha del pedido, para cargar el ranking de
+     * productos más vendidos.
+     *
+     * @return Filas con el código del producto, el año, el mes y las unidades vendidas.
      */
-    @Query("SELECT od.productField, SUM(od.quantityOrdered) AS totalUnitsSold " +
-           "FROM OrderDetail od " +
-           "GROUP BY od.productField " +
-           "ORDER BY totalUnitsSold DESC")
-    List<Object[]> findTop20BestSellingProducts(Pageable pageable);
+    @Query("SELECT od.productField.productCode, YEAR(o.orderDate), MONTH(o.orderDate), SUM(od.quantityOrdered) " +
+           "FROM OrderDetail od JOIN od.orderField o " +
+           "GROUP BY od.productField.productCode, YEAR(o.orderDate), MONTH(o.orderDate)")
+    List<Object[]> findUnitsSoldByProductAndMonth();
 
     /**
      * Busca los productos que no están incluidos en ningún detalle de pedido.
@@ -0,0 +1,36 @@
+package com.JuanGreenGarden.Gardening.domain.repository;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repositorio base cuyo {@link #findAll()} lee las entidades en modo solo lectura.
+ *
+ * Hibernate no guarda copias de las entidades para el dirty checking ni hace flush antes de la consulta, así que
+ * los cambios que se hagan en ellas no se guardan. Para modificar una entidad hay que leerla con
+ * {@link #findById} o con una consulta propia.
+ *
+ * @param <T>  El tipo de la entidad.
+ * @param <ID> El tipo de la clave primaria.
+ */
+@NoRepositoryBean
+public interface ReadOnlyFindAllRepository<T, ID> extends JpaRepository<T, ID> {
+
+    /**
+     * Encuentra todas las entidades en modo solo lectura.
+     *
+     * @return Una lista de todas las entidades.
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    List<T> findAll();
+}
@@ -0,0 +1,86 @@
+package com.JuanGreenGarden.Gardening.domain.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Adelanta en PostgreSQL las secuencias de {@code cliente} y {@code pedido} por encima de los códigos que ya hay
+ * en las tablas.
+ *
+ * {@code ddl-auto=update} crea las secuencias empezando en 1, pero las tablas ya tienen filas con códigos
+ * asignados a mano, así que los primeros INSERT chocarían con claves existentes. Al arrancar, antes de atender
+ * peticiones, cada secuencia que no va por delante del código más alto se mueve con {@code setval}. Si ya va
+ * por delante no se toca. En H2 las secuencias las crea {@code data.sql} empezando en 1000.
+ */
+@Component
+public class SequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceInitializer.class);
+
+    /**
+     * Secuencia, tabla y columna de cada clave generada. Tiene que coincidir con los {@code @SequenceGenerator}.
+     */
+    private static final String[][] SEQUENCES = {
+            { "cliente_codigo_cliente_seq", "cliente", "codigo_cliente" },
+            { "pedido_codigo_pedido_seq", "pedido", "codigo_pedido" } };
+
+    /**
+     * El {@code allocationSize} de las secuencias: el optimizador pooled usa los 50 valores anteriores al que
+     * devuelve la secuencia.
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    @Autowired
+    public SequenceInitializer(@Qualifier("oltpDataSource") DataSource dataSource,
+                               EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+        // Depender de la factoría asegura que ddl-auto ya ha creado las secuencias
+        this.enabled = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @PostConstruct
+    public void advanceSequences() {
+        if (!enabled) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            advancePastExistingKeys(statement);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not move the id sequences past the existing keys: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Mueve cada secuencia que no va por delante del código más alto de su tabla para que el siguiente bloque
+     * empiece por encima. Solo funciona en PostgreSQL.
+     *
+     * @param statement La sentencia con la que se lanzan los {@code setval}, en la transacción que use el llamante.
+     */
+    public static void advancePastExistingKeys(Statement statement) throws SQLException {
+        for (String[] sequence : SEQUENCES) {
+            String max = "(SELECT max(" + sequence[2] + ") FROM " + sequence[1] + ")";
+            statement.execute("SELECT setval('" + sequence[0] + "', " + max + " + " + ALLOCATION_SIZE + ") " +
+                    "WHERE " + max + " >= (SELECT last_value FROM " + sequence[0] + ")");
+            log.debug("Sequence {} checked against {}.{}", sequence[0], sequence[1], sequence[2]);
+        }
+    }
+}
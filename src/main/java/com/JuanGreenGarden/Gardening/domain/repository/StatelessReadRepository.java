@@ -0,0 +1,65 @@
+package com.JuanGreenGarden.Gardening.domain.repository;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import com.JuanGreenGarden.Gardening.domain.monitoring.QueryCounter;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Repositorio para lecturas masivas con una sesión sin estado de Hibernate.
+ *
+ * Las filas se recorren con un cursor de solo avance y no pasan por el contexto de persistencia,
+ * así que no se guardan copias para el dirty checking ni se hace flush antes de la consulta.
+ * Solo se debe usar para consultas de lectura que devuelvan proyecciones escalares.
+ */
+@Repository
+public class StatelessReadRepository {
+
+    private final SessionFactory sessionFactory;
+    private final int fetchSize;
+
+    @Autowired
+    public StatelessReadRepository(EntityManagerFactory entityManagerFactory,
+                                   @Value("${app.stateless-read.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Ejecuta una consulta HQL de proyección y entrega cada fila al consumidor a medida que se lee.
+     *
+     * @param hql        La consulta HQL, que debe seleccionar valores escalares.
+     * @param parameters Los parámetros con nombre de la consulta.
+     * @param rowHandler El consumidor que recibe cada fila.
+     */
+    public void forEachRow(String hql, Map<String, Object> parameters, Consumer<Object[]> rowHandler) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            // Con autocommit el driver de Postgres ignora el fetch size y lee todo el resultado de golpe
+            Transaction transaction = session.beginTransaction();
+            SelectionQuery<Object[]> query = session.createSelectionQuery(hql, Object[].class)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize);
+            parameters.forEach(query::setParameter);
+            // Las sesiones sin estado no pasan por el StatementInspector, así que la consulta se cuenta aquí
+            QueryCounter.increment();
+            try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    rowHandler.accept(rows.get());
+                }
+            }
+            transaction.commit();
+        }
+    }
+}
@@ -1,5 +1,14 @@
 package com.JuanGreenGarden.Gardening.domain.service;
 
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.EQ;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.GT;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.GTE;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.IN;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.LT;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.LTE;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.PREFIX;
+
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -7,21 +16,70 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
+import com.JuanGreenGarden.Gardening.domain.catalog.Autocomplete;
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterCondition;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterDefinition;
+import com.JuanGreenGarden.Gardening.domain.filter.ProjectionDefinition;
 import com.JuanGreenGarden.Gardening.domain.repository.CustomerRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
+import com.JuanGreenGarden.Gardening.persistence.entity.CustomerSalesRepDTO;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.CustomerDTO;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class CustomerService {
 
+    /**
+     * Campos por los que se pueden filtrar los clientes, cada uno con el índice que lo resuelve.
+     */
+    private static final FilterDefinition<Customer> FILTERS = FilterDefinition.of(Customer.class)
+            .field("country", "country", String.class, "idx_cliente_pais", EQ, IN)
+            .field("city", "city", String.class, "idx_cliente_ciudad", EQ, IN, PREFIX)
+            .field("salesRepresentative", "employeeField.employeeNumber", Integer.class, "idx_cliente_rep_ventas", EQ, IN)
+            .field("creditLimit", "creditLimit", BigDecimal.class, "idx_cliente_limite_credito", EQ, GT, GTE, LT, LTE);
+
+    /**
+     * Campos que se pueden pedir con {@code fields}: los de {@link CustomerDTO} y algunos del representante de ventas.
+     */
+    private static final ProjectionDefinition<Customer> FIELDS = ProjectionDefinition.of(Customer.class)
+            .field("customerNumber", "customerNumber")
+            .field("customerName", "customerName")
+            .field("contactFirstName", "contactFirstName")
+            .field("contactLastName", "contactLastName")
+            .field("phone", "phone")
+            .field("fax", "fax")
+            .field("addressLine1", "addressLine1")
+            .field("addressLine2", "addressLine2")
+            .field("city", "city")
+            .field("region", "region")
+            .field("country", "country")
+            .field("postalCode", "postalCode")
+            .field("creditLimit", "creditLimit")
+            .field("salesRepresentative", "employeeField.employeeNumber")
+            .field("salesRepresentativeName", "employeeField.firstName")
+            .field("salesRepresentativeOfficeCity", "employeeField.officeField.city");
+
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final CustomerRepository customerRepository;
+    private final Autocomplete autocomplete;
+    private final EntityManager entityManager;
 
     @Autowired
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, Autocomplete autocomplete, EntityManager entityManager) {
         this.customerRepository = customerRepository;
+        this.autocomplete = autocomplete;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -45,17 +103,89 @@ public class CustomerService {
                 .toList();
     }    
    
+    /**
+     * Obtiene solo algunos campos de todos los clientes, leyendo de la base de datos únicamente sus columnas.
+     *
+     * @param fields Los campos separados por comas, por ejemplo {@code customerNumber,customerName}.
+     * @return Una lista con un mapa de campo a valor por cliente.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si algún campo no existe.
+     */
+    public List<Map<String, Object>> getCustomerFields(String fields) {
+        return FIELDS.select(entityManager, fields, null);
+    }
+
+    /**
+     * Obtiene solo algunos campos de un cliente.
+     *
+     * @param customerId El ID del cliente.
+     * @param fields     Los campos separados por comas.
+     * @return Un mapa de campo a valor, o null si el cliente no existe.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si algún campo no existe.
+     */
+    public Map<String, Object> getCustomerFieldsById(Integer customerId, String fields) {
+        List<Map<String, Object>> rows = FIELDS.select(entityManager, fields,
+                (root, query, cb) -> cb.equal(root.get("customerNumber"), customerId));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Busca clientes con un filtro sobre los campos indexados y obtiene solo algunos de sus campos.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @param fields     Los campos separados por comas.
+     * @return Una lista con un mapa de campo a valor por cliente.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro o algún campo no están permitidos.
+     */
+    public List<Map<String, Object>> searchCustomerFields(List<FilterCondition> conditions, String fields) {
+        return FIELDS.select(entityManager, fields, FILTERS.toSpecification(conditions));
+    }
+
     /**
      * Obtiene clientes españoles.
      * 
      * @return Una lista de clientes que son de España.
      */
     public List<CustomerDTO> getSpanishCustomers() {
-        return customerRepository.findByCountry("Spain").stream()
+        return searchCustomers(List.of(new FilterCondition("country", EQ, "Spain")));
+    }
+
+    /**
+     * Busca clientes con un filtro sobre los campos indexados.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @return Una lista de los clientes que cumplen todas las condiciones.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro no está permitido.
+     */
+    public List<CustomerDTO> searchCustomers(List<FilterCondition> conditions) {
+        return customerRepository.findAll(FILTERS.toSpecification(conditions)).stream()
                 .map(Customer::toDTO)
                 .toList();
     }
 
+    /**
+     * Cuenta los clientes que cumplen un filtro sobre los campos indexados.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @return El número de clientes que cumplen todas las condiciones.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro no está permitido.
+     */
+    public long countCustomers(List<FilterCondition> conditions) {
+        return customerRepository.count(FILTERS.toSpecification(conditions));
+    }
+
+    /**
+     * Cuenta los clientes que cumplen un filtro agrupados por uno de los campos filtrables.
+     *
+     * @param groupBy    El campo por el que se agrupa, por ejemplo {@code city}.
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @return Una lista de pares con el valor del campo y el número de clientes.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro no está permitido.
+     */
+    @Workload(WorkloadType.REPORTING)
+    public List<Object[]> countCustomersBy(String groupBy, List<FilterCondition> conditions) {
+        return FILTERS.countBy(entityManager, groupBy, conditions);
+    }
+
     /**
      * Obtiene clientes en Madrid con representantes de ventas.
      * 
@@ -63,7 +193,9 @@ public class CustomerService {
      * @return Una lista de clientes que están en Madrid y tienen representantes de ventas con los números especificados.
      */
     public List<Customer> getCustomersInMadridWithSalesRepresentatives(List<Integer> employeeNumbers) {
-        return customerRepository.findByCityAndEmployeeField_EmployeeNumberIn("Madrid", employeeNumbers);
+        return customerRepository.findAll(FILTERS.toSpecification(List.of(
+                new FilterCondition("city", EQ, "Madrid"),
+                new FilterCondition("salesRepresentative", IN, employeeNumbers.stream().map(String::valueOf).toList()))));
     }
 
 
@@ -99,6 +231,7 @@ public class CustomerService {
      *
      * @return Lista de clientes sin pedidos ni pagos realizados
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Customer> getCustomersWithoutOrdersAndPayments() {
         return customerRepository.findByCustomersIsEmptyAndCustomers2IsEmpty();
     }
@@ -108,6 +241,7 @@ public class CustomerService {
      *
      * @return Lista de clientes que tienen pedidos pero no pagos.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Customer> findCustomersWithOrdersButNoPayments() {
         return customerRepository.findByCustomersIsNotNullAndCustomers2IsEmpty();
     }
@@ -117,6 +251,7 @@ public class CustomerService {
      *
      * @return Lista de arreglos de objetos donde cada arreglo contiene el nombre del país y la cantidad de clientes.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> countCustomersByCountry() {
         return customerRepository.countCustomersByCountry();
     }
@@ -136,16 +271,54 @@ public class CustomerService {
      * @return El número de clientes con domicilio en la ciudad de Madrid.
      */
     public long countCustomersInMadrid() {
-        return customerRepository.countByCity("Madrid");
+        return countCustomers(List.of(new FilterCondition("city", EQ, "Madrid")));
     }
 
     /**
      * Calcula el número de clientes por ciudad que comienza con la letra "M".
      *
+     * Se resuelve con el índice de sugerencias de ciudades, que ya tiene el número de clientes de cada una.
+     *
      * @return Lista de objetos Object[], donde el primer elemento es el nombre de la ciudad y el segundo elemento es el número de clientes en esa ciudad.
      */
+    @Workload(WorkloadType.REPORTING)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<Object[]> countCustomersByCityStartingWithM() {
-        return customerRepository.countCustomersByCityStartingWith("M");
+        return autocomplete.countCustomersByCityStartingWith("M");
+    }
+
+    /**
+     * Sugiere nombres de cliente que empiezan por un prefijo, sin distinguir mayúsculas ni tildes.
+     *
+     * @param prefix El prefijo escrito hasta ahora.
+     * @param limit  El número máximo de sugerencias, entre 1 y 50.
+     * @return Los nombres que empiezan por el prefijo, primero los más repetidos y después en orden alfabético.
+     * @throws DifferentDataTypeException Si {@code limit} está fuera de rango.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> suggestCustomerNames(String prefix, int limit) {
+        checkSuggestionLimit(limit);
+        return autocomplete.customerNames(prefix, limit);
+    }
+
+    /**
+     * Sugiere ciudades de clientes que empiezan por un prefijo, sin distinguir mayúsculas ni tildes.
+     *
+     * @param prefix El prefijo escrito hasta ahora.
+     * @param limit  El número máximo de sugerencias, entre 1 y 50.
+     * @return Las ciudades que empiezan por el prefijo, de la que más clientes tiene a la que menos.
+     * @throws DifferentDataTypeException Si {@code limit} está fuera de rango.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> suggestCities(String prefix, int limit) {
+        checkSuggestionLimit(limit);
+        return autocomplete.cities(prefix, limit);
+    }
+
+    private static void checkSuggestionLimit(int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new DifferentDataTypeException("The number of suggestions must be between 1 and " + MAX_SUGGESTIONS + ".");
+        }
     }
 
     /**
@@ -169,12 +342,24 @@ public class CustomerService {
     }
 
 
+    /**
+     * Obtiene la lista de clientes junto con el nombre de su representante de ventas.
+     *
+     * @return Una lista de DTO con el nombre del cliente y el de su representante de ventas.
+     */
+    @Workload(WorkloadType.REPORTING)
+    public List<CustomerSalesRepDTO> getCustomersWithSalesRepresentatives() {
+        return CustomerSalesRepDTO.fromCustomers(customerRepository.findAll());
+    }
+
+
     /**
      * Obtiene el nombre de los clientes que no hayan hecho pagos y el nombre de sus representantes
      * junto con la ciudad de la oficina a la que pertenece el representante.
      * @return Lista de objetos que contienen el nombre del cliente, nombre del representante, apellido del representante
      * y ciudad de la oficina.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> findCustomersWithoutPaymentsAndRepresentatives() {
         return customerRepository.findCustomersWithoutPaymentsAndRepresentatives();
     }
@@ -187,6 +372,7 @@ public class CustomerService {
      * @return Una lista de matrices de objetos que contienen el nombre del cliente, el nombre y apellido
      * del representante de ventas, y la ciudad de la oficina.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> getCustomerNamesAndRepresentativesWithOfficeCity() {
         return customerRepository.getCustomerNamesAndRepresentativesWithOfficeCity();
     }
@@ -1,5 +1,8 @@
 package com.JuanGreenGarden.Gardening.domain.service;
 
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.EQ;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.IN;
+
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -7,14 +10,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.cache.StaleWhileRevalidate;
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterCondition;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterDefinition;
 import com.JuanGreenGarden.Gardening.domain.repository.EmployeeRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.Employee;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.EmployeeDTO;
 
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class EmployeeService {
 
+    /**
+     * Campos por los que se pueden filtrar los empleados, cada uno con el índice que lo resuelve.
+     */
+    private static final FilterDefinition<Employee> FILTERS = FilterDefinition.of(Employee.class)
+            .field("jobTitle", "jobTitle", String.class, "idx_empleado_puesto", EQ, IN)
+            .field("office", "officeField.officeCode", String.class, "idx_empleado_oficina", EQ, IN)
+            .field("boss", "employeeField2.employeeNumber", Integer.class, "idx_empleado_jefe", EQ, IN);
+
     private final EmployeeRepository employeeRepository;
 
     @Autowired
@@ -77,6 +96,30 @@ public class EmployeeService {
                 .toList();
     }
 
+    /**
+     * Busca empleados con un filtro sobre los campos indexados.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @return Una lista de los empleados que cumplen todas las condiciones.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro no está permitido.
+     */
+    public List<EmployeeDTO> searchEmployees(List<FilterCondition> conditions) {
+        return employeeRepository.findAll(FILTERS.toSpecification(conditions)).stream()
+                .map(Employee::toDTO)
+                .toList();
+    }
+
+    /**
+     * Cuenta los empleados que cumplen un filtro sobre los campos indexados.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @return El número de empleados que cumplen todas las condiciones.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro no está permitido.
+     */
+    public long countEmployees(List<FilterCondition> conditions) {
+        return employeeRepository.count(FILTERS.toSpecification(conditions));
+    }
+
 /**
      * Obtiene una lista de empleados que no tienen una oficina asociada.
      *
@@ -131,6 +174,8 @@ public class EmployeeService {
      * 
      * @return Una lista de arrays de objetos donde cada array contiene el nombre del representante de ventas y el número de clientes que atiende.
      */
+    @StaleWhileRevalidate("customers-by-sales-representative")
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> countCustomersBySalesRepresentative() {
         return employeeRepository.countCustomersBySalesRepresentative();
     }
@@ -140,6 +185,7 @@ public class EmployeeService {
      *
      * @return Lista de matrices de objetos que contienen los nombres de los empleados y sus jefes directos.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> getEmployeeNamesAndBossNames() {
         return employeeRepository.getEmployeeNamesAndBossNames();
     }
@@ -149,6 +195,7 @@ public class EmployeeService {
      *
      * @return Lista de matrices de objetos que contienen los nombres de los empleados, sus jefes y sus jefes superiores.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> getEmployeeNamesAndBossesAndGrandBosses() {
         return employeeRepository.getEmployeeNamesAndBossesAndGrandBosses();
     }
@@ -158,6 +205,7 @@ public class EmployeeService {
      *
      * @return Lista de empleados sin clientes asociados.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Employee> findEmployeesWithoutCustomers() {
         return employeeRepository.findEmployeesWithoutCustomers();
     }
@@ -8,7 +8,10 @@ import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
 import com.JuanGreenGarden.Gardening.domain.repository.OfficeRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
 import com.JuanGreenGarden.Gardening.persistence.entity.Office;
@@ -18,6 +21,8 @@ import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OfficeDTO;
  * Servicio para operaciones relacionadas con las oficinas.
  */
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class OfficeService {
 
     private final OfficeRepository officeRepository;
@@ -142,6 +147,7 @@ public class OfficeService {
      * 
      * @return Lista de direcciones de las oficinas con clientes en Fuenlabrada.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<String> getOfficeAddressesWithCustomersInFuenlabrada() {
         return officeRepository.findOfficeAddressesWithCustomersInFuenlabrada();
     } 
@@ -151,6 +157,7 @@ public class OfficeService {
      *
      * @return Lista de oficinas donde no hay representantes de ventas para productos de la gama Frutales.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Office> findOfficesWhereNoSalesRepresentativesForFruitProducts() {
         return officeRepository.findOfficesWhereNoSalesRepresentativesForFruitProducts();
     }
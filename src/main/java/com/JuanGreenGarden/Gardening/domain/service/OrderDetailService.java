@@ -8,24 +8,38 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.cache.Coalesced;
+import com.JuanGreenGarden.Gardening.domain.cache.StaleWhileRevalidate;
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
 import com.JuanGreenGarden.Gardening.domain.repository.OrderDetailRepository;
+import com.JuanGreenGarden.Gardening.domain.repository.StatelessReadRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.BillingSummary;
 import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
 import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetailId;
+import com.JuanGreenGarden.Gardening.persistence.entity.ProductBillingSummary;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDetailDTO;
 
 /**
  * Servicio para la entidad OrderDetail.
  */
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class OrderDetailService {
 
+    private static final String LINE_TOTALS_QUERY =
+            "SELECT od.productField.productCode, od.quantityOrdered, od.priceEach FROM OrderDetail od";
+
     private final OrderDetailRepository orderDetailRepository;
+    private final StatelessReadRepository statelessReadRepository;
 
     @Autowired
-    public OrderDetailService(OrderDetailRepository orderDetailRepository) {
+    public OrderDetailService(OrderDetailRepository orderDetailRepository, StatelessReadRepository statelessReadRepository) {
         this.orderDetailRepository = orderDetailRepository;
+        this.statelessReadRepository = statelessReadRepository;
     }
 
     /**
@@ -54,6 +68,7 @@ public class OrderDetailService {
      *
      * @return Lista de arrays de objetos que contienen el número de pedido y el número de productos diferentes.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> countDistinctProductsInOrders() {
         return orderDetailRepository.countDistinctProductsInOrders();
     }
@@ -63,6 +78,7 @@ public class OrderDetailService {
      *
      * @return Lista de arrays de objetos que contienen el número de pedido y la suma de la cantidad total de productos.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> sumTotalQuantityInOrders() {
         return orderDetailRepository.sumTotalQuantityInOrders();
     }
@@ -72,16 +88,23 @@ public class OrderDetailService {
      *
      * @return La base imponible calculada.
      */
+    @Coalesced
+    @Workload(WorkloadType.REPORTING)
     public BigDecimal calcularBaseImponible() {
-        List<OrderDetail> detallesPedido = orderDetailRepository.findAll();
-        BigDecimal baseImponible = BigDecimal.ZERO;
-
-        for (OrderDetail detalle : detallesPedido) {
-            BigDecimal precioTotal = BigDecimal.valueOf(detalle.getQuantityOrdered()).multiply(BigDecimal.valueOf(detalle.getPriceEach()));
-            baseImponible = baseImponible.add(precioTotal);
-        }
+        BigDecimal[] baseImponible = {BigDecimal.ZERO};
+        statelessReadRepository.forEachRow(LINE_TOTALS_QUERY, Map.of(),
+                row -> baseImponible[0] = baseImponible[0].add(precioTotal(row)));
+        return baseImponible[0];
+    }
 
-        return baseImponible;
+    /**
+     * Calcula el precio total de una línea de pedido leída con {@link #LINE_TOTALS_QUERY}.
+     *
+     * @param row La fila con el código de producto, la cantidad y el precio por unidad.
+     * @return La cantidad multiplicada por el precio por unidad.
+     */
+    private static BigDecimal precioTotal(Object[] row) {
+        return BigDecimal.valueOf((Integer) row[1]).multiply(BigDecimal.valueOf((Double) row[2]));
     }
 
     /**
@@ -110,16 +133,11 @@ public class OrderDetailService {
      *
      * @return Un mapa que contiene el código del producto como clave y la base imponible como valor.
      */
+    @Workload(WorkloadType.REPORTING)
     public Map<String, BigDecimal> calcularBaseImponiblePorProducto() {
-        List<OrderDetail> detallesPedido = orderDetailRepository.findAll();
         Map<String, BigDecimal> baseImponiblePorProducto = new HashMap<>();
-
-        for (OrderDetail detalle : detallesPedido) {
-            BigDecimal precioTotal = BigDecimal.valueOf(detalle.getQuantityOrdered()).multiply(BigDecimal.valueOf(detalle.getPriceEach()));
-            String codigoProducto = detalle.getProductField().getProductCode();
-            baseImponiblePorProducto.put(codigoProducto, baseImponiblePorProducto.getOrDefault(codigoProducto, BigDecimal.ZERO).add(precioTotal));
-        }
-
+        statelessReadRepository.forEachRow(LINE_TOTALS_QUERY, Map.of(),
+                row -> baseImponiblePorProducto.merge((String) row[0], precioTotal(row), BigDecimal::add));
         return baseImponiblePorProducto;
     }
 
@@ -163,20 +181,33 @@ public class OrderDetailService {
         return totalFacturadoPorProducto;
     }
     
+    /**
+     * Obtiene el resumen de facturación por producto, con la base imponible, el IVA y el total facturado.
+     *
+     * @return Un mapa que contiene el código del producto como clave y su resumen de facturación como valor.
+     */
+    @StaleWhileRevalidate("summary-by-product")
+    @Coalesced
+    @Workload(WorkloadType.REPORTING)
+    public Map<String, ProductBillingSummary> getProductBillingSummary() {
+        Map<String, BigDecimal> baseImponiblePorProducto = calcularBaseImponiblePorProducto();
+        Map<String, BigDecimal> ivaPorProducto = calcularIVAPorProducto(baseImponiblePorProducto);
+        Map<String, BigDecimal> totalFacturadoPorProducto = calcularTotalFacturadoPorProducto(baseImponiblePorProducto, ivaPorProducto);
+
+        return ProductBillingSummary.fromMaps(baseImponiblePorProducto, ivaPorProducto, totalFacturadoPorProducto);
+    }
+
    /**
      * Calcula la base imponible total para los productos cuyo código comienza con "OR".
      * @return La base imponible total de los productos filtrados.
      */
+    @Workload(WorkloadType.REPORTING)
     public BigDecimal calcularBaseImponiblePorProductoFiltrado() {
-        List<OrderDetail> detallesPedido = orderDetailRepository.findByProductField_ProductCodeStartingWith("OR");
-        BigDecimal baseImponible = BigDecimal.ZERO;
-
-        for (OrderDetail detalle : detallesPedido) {
-            BigDecimal precioTotal = BigDecimal.valueOf(detalle.getQuantityOrdered()).multiply(BigDecimal.valueOf(detalle.getPriceEach()));
-            baseImponible = baseImponible.add(precioTotal);
-        }
-
-        return baseImponible;
+        BigDecimal[] baseImponible = {BigDecimal.ZERO};
+        statelessReadRepository.forEachRow(LINE_TOTALS_QUERY + " WHERE od.productField.productCode LIKE CONCAT(:prefix, '%')",
+                Map.of("prefix", "OR"),
+                row -> baseImponible[0] = baseImponible[0].add(precioTotal(row)));
+        return baseImponible[0];
     }
 
     // Implementa otros métodos para calcular el IVA y el total facturado según sea necesario
@@ -186,6 +217,7 @@ public class OrderDetailService {
      * Calcula el monto del IVA para los productos filtrados.
      * @return El monto del IVA para los productos filtrados.
      */
+    @Workload(WorkloadType.REPORTING)
     public BigDecimal calcularIVAPorProductoFiltrado() {
         BigDecimal baseImponible = calcularBaseImponiblePorProductoFiltrado();
         return baseImponible.multiply(BigDecimal.valueOf(0.21)); // IVA es el 21%
@@ -195,6 +227,7 @@ public class OrderDetailService {
      * Calcula el total facturado para los productos filtrados, incluyendo el IVA.
      * @return El total facturado para los productos filtrados, incluyendo el IVA.
      */
+    @Workload(WorkloadType.REPORTING)
     public BigDecimal calcularTotalFacturadoPorProductoFiltrado() {
         BigDecimal baseImponible = calcularBaseImponiblePorProductoFiltrado();
         BigDecimal iva = calcularIVAPorProductoFiltrado();
@@ -205,6 +238,7 @@ public class OrderDetailService {
      * Encuentra los detalles del pedido cuyo total es mayor que 3000 euros.
      * @return Lista de detalles del pedido cuyo total es mayor que 3000 euros.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<OrderDetail> findOrderDetailsWithTotalGreaterThan3000() {
         return orderDetailRepository.findOrderDetailsWithTotalGreaterThan3000();
     }
@@ -0,0 +1,154 @@
+package com.JuanGreenGarden.Gardening.domain.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
+import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
+import com.JuanGreenGarden.Gardening.persistence.entity.Order;
+import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
+import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetailId;
+import com.JuanGreenGarden.Gardening.persistence.entity.Product;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderLineDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderResultDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Servicio para la carga masiva de pedidos con sus líneas.
+ *
+ * Los pedidos se guardan en bloques, cada uno en su propia transacción. Los identificadores salen de
+ * secuencias con optimizador pooled y los INSERT se agrupan en lotes JDBC ({@code hibernate.jdbc.batch_size}).
+ * Clientes y productos se enlazan por referencia, sin cargarlos.
+ */
+@Service
+@Workload(WorkloadType.OLTP)
+public class OrderIngestionService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @Autowired
+    public OrderIngestionService(PlatformTransactionManager transactionManager,
+                                 @Value("${app.orders.bulk.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Guarda una lista de pedidos con sus líneas. Los pedidos no válidos se descartan y se informan en el resultado.
+     *
+     * @param orders Los pedidos a guardar.
+     * @return El resumen de la carga: pedidos y líneas insertados, rechazos y líneas por segundo.
+     */
+    public BulkOrderResultDTO ingest(List<BulkOrderDTO> orders) {
+        long start = System.nanoTime();
+        BulkOrderResultDTO result = new BulkOrderResultDTO();
+        result.setOrdersReceived(orders.size());
+
+        for (int from = 0; from < orders.size(); from += chunkSize) {
+            int offset = from;
+            List<BulkOrderDTO> chunk = orders.subList(from, Math.min(from + chunkSize, orders.size()));
+            transactionTemplate.executeWithoutResult(status -> ingestChunk(chunk, offset, result));
+            result.setChunks(result.getChunks() + 1);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setLinesPerSecond(elapsedNanos == 0 ? 0 : result.getLinesInserted() * 1_000_000_000.0 / elapsedNanos);
+        return result;
+    }
+
+    private void ingestChunk(List<BulkOrderDTO> chunk, int offset, BulkOrderResultDTO result) {
+        Set<Integer> customerNumbers = new HashSet<>();
+        Set<String> productCodes = new HashSet<>();
+        for (BulkOrderDTO order : chunk) {
+            customerNumbers.add(order.getCustomerNumber());
+            if (order.getLines() != null) {
+                order.getLines().forEach(line -> productCodes.add(line.getProductCode()));
+            }
+        }
+        Set<Integer> knownCustomers = new HashSet<>(entityManager
+                .createQuery("SELECT c.customerNumber FROM Customer c WHERE c.customerNumber IN :ids", Integer.class)
+                .setParameter("ids", customerNumbers)
+                .getResultList());
+        Set<String> knownProducts = new HashSet<>(entityManager
+                .createQuery("SELECT p.productCode FROM Product p WHERE p.productCode IN :codes", String.class)
+                .setParameter("codes", productCodes)
+                .getResultList());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkOrderDTO dto = chunk.get(i);
+            String reject = validate(dto, knownCustomers, knownProducts);
+            if (reject != null) {
+                result.getRejects().add("Order #" + (offset + i) + ": " + reject);
+                continue;
+            }
+
+            Order order = new Order();
+            order.setOrderDate(dto.getOrderDate());
+            order.setRequiredDate(dto.getRequiredDate());
+            order.setShippedDate(dto.getShippedDate());
+            order.setStatus(dto.getStatus());
+            order.setComments(dto.getComments());
+            order.setCustomerField(entityManager.getReference(Customer.class, dto.getCustomerNumber()));
+            entityManager.persist(order);
+
+            int lineNumber = 1;
+            for (BulkOrderLineDTO line : dto.getLines()) {
+                OrderDetail detail = new OrderDetail();
+                detail.setOrderDetailId(new OrderDetailId(null, lineNumber++));
+                detail.setOrderField(order);
+                detail.setProductField(entityManager.getReference(Product.class, line.getProductCode()));
+                detail.setQuantityOrdered(line.getQuantityOrdered());
+                detail.setPriceEach(line.getPriceEach());
+                entityManager.persist(detail);
+            }
+            result.setOrdersInserted(result.getOrdersInserted() + 1);
+            result.setLinesInserted(result.getLinesInserted() + dto.getLines().size());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String validate(BulkOrderDTO order, Set<Integer> knownCustomers, Set<String> knownProducts) {
+        if (order.getCustomerNumber() == null || !knownCustomers.contains(order.getCustomerNumber())) {
+            return "unknown customer " + order.getCustomerNumber();
+        }
+        if (order.getOrderDate() == null || order.getRequiredDate() == null) {
+            return "orderDate and requiredDate are required";
+        }
+        if (order.getStatus() == null || order.getStatus().isBlank() || order.getStatus().length() > 15) {
+            return "status is required and must have at most 15 characters";
+        }
+        if (order.getLines() == null || order.getLines().isEmpty()) {
+            return "an order needs at least one line";
+        }
+        Set<String> seenProducts = new HashSet<>();
+        for (BulkOrderLineDTO line : order.getLines()) {
+            if (!knownProducts.contains(line.getProductCode())) {
+                return "unknown product " + line.getProductCode();
+            }
+            if (!seenProducts.add(line.getProductCode())) {
+                return "product " + line.getProductCode() + " appears in more than one line";
+            }
+            if (line.getQuantityOrdered() == null || line.getQuantityOrdered() <= 0 || line.getPriceEach() == null || line.getPriceEach() < 0) {
+                return "line for product " + line.getProductCode() + " needs a positive quantity and a price";
+            }
+        }
+        return null;
+    }
+}
@@ -4,7 +4,10 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
 import com.JuanGreenGarden.Gardening.domain.repository.OrderRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.Order;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDTO;
@@ -13,6 +16,8 @@ import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDTO;
  * Servicio para la entidad Order.
  */
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class OrderService {
 
     private final OrderRepository orderRepository;
@@ -48,6 +53,7 @@ public class OrderService {
      * 
      * @return Una lista de arrays de objetos que contienen los detalles de las órdenes retrasadas.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> getDelayedOrders() {
         return orderRepository.findDelayedOrders();
     }
@@ -57,6 +63,7 @@ public class OrderService {
      * 
      * @return Una lista de arrays de objetos que contienen los detalles de las órdenes entregadas antes de tiempo.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> getOrdersDeliveredEarly() {
         return orderRepository.findOrdersDeliveredEarly();
     }
@@ -84,6 +91,7 @@ public class OrderService {
      *
      * @return Lista de nombres de clientes con pedidos entregados tarde.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<String> findCustomersWithDelayedOrders() {
         return orderRepository.findCustomersWithDelayedOrders();
     }
@@ -93,6 +101,7 @@ public class OrderService {
      *
      * @return Lista de las diferentes gamas de producto que ha comprado cada cliente.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<String> findAllProductLinesByCustomers() {
         return orderRepository.findAllProductLinesByCustomers();
     }
@@ -102,6 +111,7 @@ public class OrderService {
      *
      * @return Una lista de arreglos donde cada arreglo contiene el estado y la cantidad de pedidos para ese estado.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> countOrdersByStatus() {
         return orderRepository.countOrdersByStatus();
     }
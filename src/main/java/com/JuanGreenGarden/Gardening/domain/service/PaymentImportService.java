@@ -0,0 +1,342 @@
+package com.JuanGreenGarden.Gardening.domain.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
+import com.JuanGreenGarden.Gardening.domain.cache.TableVersionRegistry;
+import com.JuanGreenGarden.Gardening.domain.repository.PostgresCopyWriter;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentImportResultDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Servicio para importar ficheros de pagos en CSV o JSON.
+ *
+ * El fichero se lee fila a fila y las filas válidas se cargan con COPY en una tabla temporal. Después,
+ * una única sentencia las pasa a {@code pago}, descartando las de clientes inexistentes y las que ya estaban.
+ * Todo ocurre en una transacción y la memoria usada no depende del tamaño del fichero.
+ */
+@Service
+public class PaymentImportService {
+
+    private static final String[] STAGING_COLUMNS = {
+            "line_no", "codigo_cliente", "id_transaccion", "fecha_pago", "total", "forma_pago" };
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE pago_import (
+              line_no BIGINT NOT NULL,
+              codigo_cliente INTEGER NOT NULL,
+              id_transaccion VARCHAR(50) NOT NULL,
+              fecha_pago DATE NOT NULL,
+              total NUMERIC(15,2) NOT NULL,
+              forma_pago VARCHAR(40) NOT NULL
+            ) ON COMMIT DROP""";
+
+    private static final String UNKNOWN_CUSTOMERS = """
+            SELECT s.line_no, s.codigo_cliente FROM pago_import s
+            WHERE NOT EXISTS (SELECT 1 FROM cliente c WHERE c.codigo_cliente = s.codigo_cliente)
+            ORDER BY s.line_no""";
+
+    private static final String MERGE_INTO_PAGO = """
+            INSERT INTO pago (codigo_cliente, forma_pago, id_transaccion, fecha_pago, total)
+            SELECT s.codigo_cliente, s.forma_pago, s.id_transaccion, s.fecha_pago, s.total
+            FROM pago_import s
+            WHERE EXISTS (SELECT 1 FROM cliente c WHERE c.codigo_cliente = s.codigo_cliente)
+            ON CONFLICT (codigo_cliente, id_transaccion) DO NOTHING""";
+
+    // Cabeceras CSV admitidas: los nombres de PaymentDTO y los de las columnas de la tabla
+    private static final Map<String, String> CSV_HEADERS = Map.of(
+            "customernumber", "customerNumber", "codigo_cliente", "customerNumber",
+            "transactionid", "transactionId", "id_transaccion", "transactionId",
+            "paymentdate", "paymentDate", "fecha_pago", "paymentDate",
+            "amount", "amount", "total", "amount",
+            "paymentmethod", "paymentMethod", "forma_pago", "paymentMethod");
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final TableVersionRegistry tableVersions;
+    private final int maxRejects;
+
+    @Autowired
+    public PaymentImportService(@Qualifier("oltpDataSource") DataSource dataSource,
+                                ObjectMapper objectMapper,
+                                TableVersionRegistry tableVersions,
+                                @Value("${app.payments.import.max-rejects:1000}") int maxRejects) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.tableVersions = tableVersions;
+        this.maxRejects = maxRejects;
+    }
+
+    /**
+     * Importa un fichero CSV con cabecera. Las columnas pueden ir en cualquier orden.
+     *
+     * @param input El contenido del fichero.
+     * @return El resumen de la importación.
+     * @throws DifferentDataTypeException Si falta la cabecera o alguna columna obligatoria.
+     */
+    public PaymentImportResultDTO importCsv(InputStream input) {
+        return load((reader, result) -> {
+            BufferedReader lines = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String header = lines.readLine();
+            if (header == null) {
+                throw new DifferentDataTypeException("The CSV file is empty");
+            }
+            String[] columns = mapHeader(splitCsvLine(header.replace("\uFEFF", "")));
+            long lineNumber = 1;
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setRowsRead(result.getRowsRead() + 1);
+                PaymentDTO payment;
+                try {
+                    payment = parseCsvRow(columns, splitCsvLine(line));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    reject(result, lineNumber, e.getMessage());
+                    continue;
+                }
+                reader.accept(lineNumber, payment);
+            }
+        });
+    }
+
+    /**
+     * Importa un array JSON de pagos con los campos de {@link PaymentDTO}. Se lee un elemento cada vez.
+     *
+     * @param input El contenido del fichero.
+     * @return El resumen de la importación.
+     * @throws DifferentDataTypeException Si el contenido no es un array JSON.
+     */
+    public PaymentImportResultDTO importJson(InputStream input) {
+        return load((reader, result) -> {
+            try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new DifferentDataTypeException("The JSON body must be an array of payments");
+                }
+                long element = 0;
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new DifferentDataTypeException("The JSON array is not closed");
+                    }
+                    element++;
+                    result.setRowsRead(result.getRowsRead() + 1);
+                    JsonNode node = parser.readValueAsTree();
+                    PaymentDTO payment;
+                    try {
+                        payment = objectMapper.treeToValue(node, PaymentDTO.class);
+                    } catch (JsonProcessingException e) {
+                        reject(result, element, e.getOriginalMessage());
+                        continue;
+                    }
+                    reader.accept(element, payment);
+                }
+            } catch (JsonProcessingException e) {
+                throw new DifferentDataTypeException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private PaymentImportResultDTO load(RowSource source) {
+        long start = System.nanoTime();
+        PaymentImportResultDTO result = new PaymentImportResultDTO();
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (!PostgresCopyWriter.isSupported(connection)) {
+                throw new IllegalStateException("Payment import requires a PostgreSQL database");
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long staged;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING_TABLE);
+                }
+
+                try (PostgresCopyWriter writer = new PostgresCopyWriter(connection, "pago_import", STAGING_COLUMNS)) {
+                    source.read((rowNumber, payment) -> {
+                        String reject = validate(payment);
+                        if (reject != null) {
+                            reject(result, rowNumber, reject);
+                            return;
+                        }
+                        writer.writeRow(rowNumber, payment.getCustomerNumber(), payment.getTransactionId(),
+                                toLocalDate(payment.getPaymentDate()), payment.getAmount(), payment.getPaymentMethod());
+                    }, result);
+                    staged = writer.finish();
+                }
+
+                long unknownCustomers = 0;
+                try (PreparedStatement statement = connection.prepareStatement(UNKNOWN_CUSTOMERS);
+                     ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        unknownCustomers++;
+                        reject(result, rows.getLong(1), "unknown customer " + rows.getInt(2));
+                    }
+                }
+
+                try (Statement statement = connection.createStatement()) {
+                    result.setRowsInserted(statement.executeUpdate(MERGE_INTO_PAGO));
+                }
+                connection.commit();
+                if (result.getRowsInserted() > 0) {
+                    // El INSERT va por JDBC y Hibernate no se entera
+                    tableVersions.bump("pago");
+                }
+
+                result.setDuplicates(staged - unknownCustomers - result.getRowsInserted());
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Payment import failed: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new DifferentDataTypeException("Could not read the payment file: " + e.getMessage());
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos == 0 ? 0 : result.getRowsRead() * 1_000_000_000.0 / elapsedNanos);
+        return result;
+    }
+
+    private String validate(PaymentDTO payment) {
+        if (payment.getCustomerNumber() == null) {
+            return "customerNumber is required";
+        }
+        if (payment.getTransactionId() == null || payment.getTransactionId().isBlank() || payment.getTransactionId().length() > 50) {
+            return "transactionId is required and must have at most 50 characters";
+        }
+        if (payment.getPaymentDate() == null) {
+            return "paymentDate is required";
+        }
+        if (payment.getAmount() == null || payment.getAmount().precision() - payment.getAmount().scale() > 13) {
+            return "amount is required and must fit NUMERIC(15,2)";
+        }
+        if (payment.getPaymentMethod() == null || payment.getPaymentMethod().isBlank() || payment.getPaymentMethod().length() > 40) {
+            return "paymentMethod is required and must have at most 40 characters";
+        }
+        return null;
+    }
+
+    private void reject(PaymentImportResultDTO result, long rowNumber, String reason) {
+        result.setRejectCount(result.getRejectCount() + 1);
+        if (result.getRejects().size() < maxRejects) {
+            result.getRejects().add("Row " + rowNumber + ": " + reason);
+        }
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static String[] mapHeader(List<String> header) {
+        String[] columns = new String[header.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = CSV_HEADERS.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+        }
+        for (String required : new String[] { "customerNumber", "transactionId", "paymentDate", "amount", "paymentMethod" }) {
+            if (!Arrays.asList(columns).contains(required)) {
+                throw new DifferentDataTypeException("The CSV header must include the column " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static PaymentDTO parseCsvRow(String[] columns, List<String> values) {
+        if (values.size() != columns.length) {
+            throw new IllegalArgumentException("expected " + columns.length + " columns but found " + values.size());
+        }
+        PaymentDTO payment = new PaymentDTO();
+        for (int i = 0; i < columns.length; i++) {
+            String value = values.get(i).trim();
+            if (columns[i] == null || value.isEmpty()) {
+                continue;
+            }
+            switch (columns[i]) {
+                case "customerNumber" -> payment.setCustomerNumber(Integer.valueOf(value));
+                case "transactionId" -> payment.setTransactionId(value);
+                case "paymentDate" -> payment.setPaymentDate(
+                        Date.from(LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()));
+                case "amount" -> payment.setAmount(new BigDecimal(value));
+                case "paymentMethod" -> payment.setPaymentMethod(value);
+                default -> { }
+            }
+        }
+        return payment;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(long rowNumber, PaymentDTO payment) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        void read(RowConsumer consumer, PaymentImportResultDTO result) throws IOException, SQLException;
+    }
+}
@@ -8,7 +8,11 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.cache.StaleWhileRevalidate;
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
 import com.JuanGreenGarden.Gardening.domain.repository.PaymentRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.Payment;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentDTO;
@@ -17,6 +21,8 @@ import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentDTO;
  * Servicio para la entidad Payment.
  */
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
@@ -82,6 +88,7 @@ public class PaymentService {
      * @param year Año para el cual se calculará el pago medio.
      * @return     El pago medio para el año especificado.
      */
+     @Workload(WorkloadType.REPORTING)
      public BigDecimal calculateAveragePaymentForYear(int year) {
         List<Payment> payments = findPaymentsInYear(year);
         return calculateAveragePayment(payments);
@@ -121,6 +128,8 @@ public class PaymentService {
      *
      * @return Lista de arrays de objetos que contienen el nombre y apellidos del cliente, así como la fecha del primer y último pago.
      */
+    @StaleWhileRevalidate("payment-dates")
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> findFirstAndLastPaymentDatesForCustomers() {
         return paymentRepository.findFirstAndLastPaymentDatesForCustomers();
     }
@@ -129,6 +138,7 @@ public class PaymentService {
      * Encuentra la suma total de los pagos agrupados por año.
      * @return Lista de arreglos de objetos, donde cada arreglo contiene el año y la suma total de pagos para ese año.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> findTotalPaymentsByYear() {
         return paymentRepository.findTotalPaymentsByYear();
     }
@@ -139,6 +149,7 @@ public class PaymentService {
      * @return Lista de objetos que contienen el nombre del cliente, nombre del representante, apellido del representante
      * y ciudad de la oficina.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Object[]> findCustomerPaymentsAndRepresentatives() {
         return paymentRepository.findCustomerPaymentsAndRepresentatives();
     }
@@ -4,7 +4,10 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
 import com.JuanGreenGarden.Gardening.domain.repository.ProductLineRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.ProductLine;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductLineDTO;
@@ -13,6 +16,8 @@ import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductLineDTO;
  * Servicio para operaciones relacionadas con las líneas de producto.
  */
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class ProductLineService {
 
     private final ProductLineRepository productLineRepository;
@@ -27,6 +32,7 @@ public class ProductLineService {
      * 
      * @param productLine El nombre de la línea de producto a eliminar.
      */
+    @Transactional
     public void deleteProductLine(String productLine) {
         productLineRepository.deleteById(productLine);
     }
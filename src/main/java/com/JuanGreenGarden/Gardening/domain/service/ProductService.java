@@ -1,29 +1,92 @@
 package com.JuanGreenGarden.Gardening.domain.service;
 
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.EQ;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.GT;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.GTE;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.IN;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.LT;
+import static com.JuanGreenGarden.Gardening.domain.filter.FilterOperator.LTE;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
+import com.JuanGreenGarden.Gardening.domain.cache.Coalesced;
+import com.JuanGreenGarden.Gardening.domain.catalog.Autocomplete;
+import com.JuanGreenGarden.Gardening.domain.catalog.BestSellerRanking;
+import com.JuanGreenGarden.Gardening.domain.catalog.ProductCatalog;
+import com.JuanGreenGarden.Gardening.domain.catalog.ProductSearchIndex;
+import com.JuanGreenGarden.Gardening.domain.datasource.Workload;
+import com.JuanGreenGarden.Gardening.domain.datasource.WorkloadType;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterCondition;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterDefinition;
+import com.JuanGreenGarden.Gardening.domain.filter.ProjectionDefinition;
 import com.JuanGreenGarden.Gardening.domain.repository.ProductRepository;
 import com.JuanGreenGarden.Gardening.persistence.entity.Product;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductDTO;
 
+import jakarta.persistence.EntityManager;
+
 /**
  * Servicio para operaciones relacionadas con los productos.
  */
 @Service
+@Workload(WorkloadType.OLTP)
+@Transactional(readOnly = true)
 public class ProductService {
 
+    /**
+     * Campos por los que se pueden filtrar los productos, cada uno con el índice que lo resuelve. El índice
+     * de la gama incluye el stock, así que también resuelve la gama junto con un rango de stock.
+     */
+    private static final FilterDefinition<Product> FILTERS = FilterDefinition.of(Product.class)
+            .field("productLine", "productLineField.productLine", String.class, "idx_producto_gama_stock", EQ, IN)
+            .field("quantityInStock", "quantityInStock", Integer.class, "idx_producto_stock", EQ, GT, GTE, LT, LTE)
+            .field("price", "buyPrice", BigDecimal.class, "idx_producto_precio_venta", EQ, GT, GTE, LT, LTE);
+
+    /**
+     * Campos que se pueden pedir con {@code fields}: los de {@link ProductDTO} y la gama.
+     */
+    private static final ProjectionDefinition<Product> FIELDS = ProjectionDefinition.of(Product.class)
+            .field("productCode", "productCode")
+            .field("productName", "productName")
+            .field("productScale", "productScale")
+            .field("productVendor", "productVendor")
+            .field("productDescription", "productDescription")
+            .field("quantityInStock", "quantityInStock")
+            .field("buyPrice", "buyPrice")
+            .field("msrp", "MSRP")
+            .field("productLine", "productLineField.productLine");
+
+    private static final int MAX_TOP_PRODUCTS = 1000;
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
+    private final BestSellerRanking bestSellerRanking;
+    private final ProductSearchIndex productSearchIndex;
+    private final Autocomplete autocomplete;
+    private final EntityManager entityManager;
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductCatalog productCatalog,
+                          BestSellerRanking bestSellerRanking, ProductSearchIndex productSearchIndex,
+                          Autocomplete autocomplete, EntityManager entityManager) {
         this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
+        this.bestSellerRanking = bestSellerRanking;
+        this.productSearchIndex = productSearchIndex;
+        this.autocomplete = autocomplete;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -48,14 +111,148 @@ public class ProductService {
     }
 
     /**
-     * Obtiene productos por la línea de producto y la cantidad en stock.
+     * Obtiene solo algunos campos de todos los productos, leyendo de la base de datos únicamente sus columnas.
+     *
+     * @param fields Los campos separados por comas, por ejemplo {@code productCode,productName}.
+     * @return Una lista con un mapa de campo a valor por producto.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si algún campo no existe.
+     */
+    public List<Map<String, Object>> getProductFields(String fields) {
+        return FIELDS.select(entityManager, fields, null);
+    }
+
+    /**
+     * Obtiene solo algunos campos de un producto.
+     *
+     * @param productCode El código del producto.
+     * @param fields      Los campos separados por comas.
+     * @return Un mapa de campo a valor, o null si el producto no existe.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si algún campo no existe.
+     */
+    public Map<String, Object> getProductFieldsByCode(String productCode, String fields) {
+        List<Map<String, Object>> rows = FIELDS.select(entityManager, fields,
+                (root, query, cb) -> cb.equal(root.get("productCode"), productCode));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Busca productos con un filtro sobre los campos indexados y obtiene solo algunos de sus campos.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @param fields     Los campos separados por comas.
+     * @return Una lista con un mapa de campo a valor por producto.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro o algún campo no están permitidos.
+     */
+    public List<Map<String, Object>> searchProductFields(List<FilterCondition> conditions, String fields) {
+        return FIELDS.select(entityManager, fields, FILTERS.toSpecification(conditions));
+    }
+
+    /**
+     * Obtiene productos por la línea de producto y la cantidad en stock, del catálogo en memoria.
      * 
      * @param productLine      La línea de producto.
-     * @param quantityInStock  La cantidad mínima en stock.
-     * @return                 Una lista de productos que coinciden con los criterios especificados.
+     * @param quantityInStock  La cantidad en stock que se tiene que superar.
+     * @return                 Una lista de productos que coinciden con los criterios especificados, ordenados por stock.
      */
-    public List<Product> getProductsByProductLineAndQuantityInStock(String productLine, int quantityInStock) {
-        return productRepository.findByProductLineFieldProductLineAndQuantityInStockGreaterThan(productLine, quantityInStock);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductDTO> getProductsByProductLineAndQuantityInStock(String productLine, int quantityInStock) {
+        return productCatalog.inProductLineWithStockAbove(productLine, quantityInStock);
+    }
+
+    /**
+     * Obtiene los productos con un precio de venta dentro de un rango, del catálogo en memoria.
+     *
+     * @param min El precio mínimo, incluido.
+     * @param max El precio máximo, incluido.
+     * @return Una lista de productos ordenados por precio.
+     * @throws DifferentDataTypeException Si el mínimo es mayor que el máximo.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductDTO> getProductsByPriceRange(BigDecimal min, BigDecimal max) {
+        if (min.compareTo(max) > 0) {
+            throw new DifferentDataTypeException("The minimum price cannot be greater than the maximum price.");
+        }
+        return productCatalog.priceBetween(min, max);
+    }
+
+    /**
+     * Obtiene los productos más baratos o más caros, del catálogo en memoria.
+     *
+     * @param k             El número de productos.
+     * @param mostExpensive true para los más caros, de más caro a más barato; false para los más baratos.
+     * @return Una lista con como mucho {@code k} productos.
+     * @throws DifferentDataTypeException Si {@code k} no está entre 1 y 1000.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductDTO> getTopProductsByPrice(int k, boolean mostExpensive) {
+        if (k < 1 || k > MAX_TOP_PRODUCTS) {
+            throw new DifferentDataTypeException("The number of products must be between 1 and " + MAX_TOP_PRODUCTS + ".");
+        }
+        return mostExpensive ? productCatalog.mostExpensive(k) : productCatalog.cheapest(k);
+    }
+
+    /**
+     * Busca productos por texto en el nombre, el proveedor y la descripción, con el índice en memoria.
+     *
+     * @param query El texto que se busca; cada palabra encuentra también las que empiezan por ella.
+     * @param limit El número máximo de productos, entre 1 y 100.
+     * @return Los productos que contienen todas las palabras, del más relevante al que menos.
+     * @throws DifferentDataTypeException Si {@code limit} está fuera de rango.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<ProductDTO> searchProductsByText(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new DifferentDataTypeException("The number of results must be between 1 and " + MAX_SEARCH_RESULTS + ".");
+        }
+        List<String> productCodes = productSearchIndex.search(query, limit);
+        List<ProductDTO> result = new ArrayList<>(productCodes.size());
+        for (String productCode : productCodes) {
+            ProductDTO product = productCatalog.find(productCode);
+            if (product != null) {
+                result.add(product);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sugiere códigos de producto que empiezan por un prefijo, sin distinguir mayúsculas.
+     *
+     * @param prefix El prefijo escrito hasta ahora.
+     * @param limit  El número máximo de sugerencias, entre 1 y 50.
+     * @return Los códigos que empiezan por el prefijo, en orden alfabético.
+     * @throws DifferentDataTypeException Si {@code limit} está fuera de rango.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> suggestProductCodes(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new DifferentDataTypeException("The number of suggestions must be between 1 and " + MAX_SUGGESTIONS + ".");
+        }
+        return autocomplete.productCodes(prefix, limit);
+    }
+
+    /**
+     * Busca productos con un filtro sobre los campos indexados.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @return Una lista de los productos que cumplen todas las condiciones.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro no está permitido.
+     */
+    public List<ProductDTO> searchProducts(List<FilterCondition> conditions) {
+        return productRepository.findAll(FILTERS.toSpecification(conditions)).stream()
+                .map(Product::toDTO)
+                .toList();
+    }
+
+    /**
+     * Cuenta los productos que cumplen un filtro sobre los campos indexados.
+     *
+     * @param conditions Las condiciones del filtro, que se combinan con AND.
+     * @return El número de productos que cumplen todas las condiciones.
+     * @throws com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException Si el filtro no está permitido.
+     */
+    public long countProducts(List<FilterCondition> conditions) {
+        return productRepository.count(FILTERS.toSpecification(conditions));
     }
 
     /**
@@ -63,32 +260,53 @@ public class ProductService {
      *
      * @return Lista de productos que no están en órdenes.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Product> findProductsNotInOrders() {
         return productRepository.findProductsNotInOrders();
     }
 
 
     /**
-     * Encuentra el precio de venta del producto más caro y más barato.
+     * Encuentra el precio de venta del producto más caro y más barato, del catálogo en memoria.
      *
      * @return Un arreglo donde el primer elemento es el producto más caro y el segundo es el producto más barato.
      */
-    public Product[] findMinMaxProductPrice() {
-        Product[] result = new Product[2];
-        Page<Product> highestPriceProducts = productRepository.findProductsWithHighestPrice(PageRequest.of(0, 1));
-        Page<Product> lowestPriceProducts = productRepository.findProductsWithLowestPrice(PageRequest.of(0, 1));
-        result[0] = highestPriceProducts.getContent().isEmpty() ? null : highestPriceProducts.getContent().get(0);
-        result[1] = lowestPriceProducts.getContent().isEmpty() ? null : lowestPriceProducts.getContent().get(0);
-        return result;
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ProductDTO[] findMinMaxProductPrice() {
+        return new ProductDTO[] { productCatalog.mostExpensive(), productCatalog.cheapest() };
     }
 
     /**
-     * Encuentra los 20 productos más vendidos.
-     * @return Lista de los 20 productos más vendidos.
+     * Encuentra los productos más vendidos con el ranking que se mantiene en memoria. Solo la primera llamada
+     * lee las ventas de la base de datos. Las llamadas iguales simultáneas comparten una sola ejecución, que
+     * sigue recorriendo todos los productos cuando se filtra por gama o por meses.
+     *
+     * @param k           El número de productos, entre 1 y 1000.
+     * @param productLine La gama de los productos, o null para todas.
+     * @param from        El primer mes de la fecha de los pedidos, o null para no limitarlo.
+     * @param to          El último mes de la fecha de los pedidos, o null para no limitarlo.
+     * @return Pares con el producto y sus unidades vendidas, del que más vende al que menos.
+     * @throws DifferentDataTypeException Si {@code k} está fuera de rango o {@code from} es posterior a {@code to}.
      */
-    public List<Object[]> findTop20BestSellingProducts() {
-        Pageable pageable = PageRequest.of(0, 20); // Paginación para obtener solo los primeros 20 resultados
-        return productRepository.findTop20BestSellingProducts(pageable);
+    @Coalesced
+    @Workload(WorkloadType.REPORTING)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Object[]> findBestSellingProducts(int k, String productLine, YearMonth from, YearMonth to) {
+        if (k < 1 || k > MAX_TOP_PRODUCTS) {
+            throw new DifferentDataTypeException("The number of products must be between 1 and " + MAX_TOP_PRODUCTS + ".");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new DifferentDataTypeException("The first month cannot be after the last one.");
+        }
+        List<BestSellerRanking.Entry> ranking = bestSellerRanking.top(k, productLine, from, to);
+        List<Object[]> result = new ArrayList<>(ranking.size());
+        for (BestSellerRanking.Entry entry : ranking) {
+            ProductDTO product = productCatalog.find(entry.productCode());
+            if (product != null) {
+                result.add(new Object[] { product, entry.units() });
+            }
+        }
+        return result;
     }
 
     /**
@@ -96,6 +314,7 @@ public class ProductService {
      *
      * @return Lista de productos que no están presentes en ningún pedido.
      */
+    @Workload(WorkloadType.REPORTING)
     public List<Product> findProductsNotInOrderss() {
         return productRepository.findProductsNotInOrders();
     }
@@ -0,0 +1,194 @@
+package com.JuanGreenGarden.Gardening.domain.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.domain.Exceptions.ReportQueueFullException;
+import com.JuanGreenGarden.Gardening.persistence.entity.ReportJob;
+import com.JuanGreenGarden.Gardening.persistence.entity.ReportJobStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Servicio que ejecuta los reportes pesados en segundo plano.
+ *
+ * Los trabajos corren en un pool propio y acotado, de modo que el tráfico de reportes no ocupa los hilos HTTP.
+ * Los resultados se escriben en disco y se eliminan al vencer su TTL. Si se pide un reporte que ya está en curso,
+ * se devuelve el trabajo existente en lugar de lanzar otro.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final Map<String, Supplier<Object>> reports = new LinkedHashMap<>();
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor executor;
+    private final ObjectMapper objectMapper;
+    private final Path storageDir;
+    private final Duration resultTtl;
+
+    @Autowired
+    public ReportJobService(OrderDetailService orderDetailService,
+                            PaymentService paymentService,
+                            CustomerService customerService,
+                            ObjectMapper objectMapper,
+                            @Value("${report.jobs.pool-size:2}") int poolSize,
+                            @Value("${report.jobs.queue-capacity:20}") int queueCapacity,
+                            @Value("${report.jobs.storage-dir:${java.io.tmpdir}/gardening-reports}") String storageDir,
+                            @Value("${report.jobs.result-ttl-minutes:30}") long resultTtlMinutes) {
+        this.objectMapper = objectMapper;
+        this.storageDir = Paths.get(storageDir);
+        this.resultTtl = Duration.ofMinutes(resultTtlMinutes);
+
+        reports.put("summary-by-product", orderDetailService::getProductBillingSummary);
+        reports.put("first-and-last-payment-dates-for-customers", paymentService::findFirstAndLastPaymentDatesForCustomers);
+        reports.put("sales-representatives", customerService::getCustomersWithSalesRepresentatives);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        try {
+            Files.createDirectories(this.storageDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create report storage directory " + this.storageDir, e);
+        }
+    }
+
+    /**
+     * Obtiene los nombres de los reportes que se pueden lanzar como trabajo.
+     *
+     * @return El conjunto de nombres de reportes disponibles.
+     */
+    public Set<String> getAvailableReports() {
+        return reports.keySet();
+    }
+
+    /**
+     * Encola un reporte. Si ya hay un trabajo en curso para el mismo reporte, se devuelve ese trabajo.
+     *
+     * @param reportName El nombre del reporte a ejecutar.
+     * @return El trabajo encolado o el que ya estaba en curso.
+     * @throws NotFoundEndPoint Si el reporte no existe.
+     * @throws ReportQueueFullException Si la cola de trabajos está llena.
+     */
+    public ReportJob submit(String reportName) {
+        Supplier<Object> report = reports.get(reportName);
+        if (report == null) {
+            throw new NotFoundEndPoint("Report " + reportName + " not found");
+        }
+
+        ReportJob candidate = new ReportJob(UUID.randomUUID().toString(), reportName, Instant.now());
+        ReportJob job = inFlight.computeIfAbsent(reportName, key -> candidate);
+        if (job != candidate) {
+            return job;
+        }
+
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(() -> run(job, report));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            inFlight.remove(reportName, job);
+            throw new ReportQueueFullException("Report " + reportName + " could not be queued");
+        }
+        return job;
+    }
+
+    /**
+     * Obtiene un trabajo por su identificador.
+     *
+     * @param jobId El identificador del trabajo.
+     * @return El trabajo correspondiente.
+     * @throws NotFoundEndPoint Si el trabajo no existe o ya venció.
+     */
+    public ReportJob getJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundEndPoint("Report job " + jobId + " not found");
+        }
+        return job;
+    }
+
+    private void run(ReportJob job, Supplier<Object> report) {
+        job.setStartedAt(Instant.now());
+        job.setStatus(ReportJobStatus.RUNNING);
+        try {
+            Object result = report.get();
+            Path resultPath = storageDir.resolve(job.getJobId() + ".json");
+            objectMapper.writeValue(resultPath.toFile(), result);
+            job.setResultPath(resultPath);
+            job.setResultSizeBytes(Files.size(resultPath));
+            job.setStatus(ReportJobStatus.COMPLETED);
+        } catch (Exception e) {
+            log.warn("Report job {} ({}) failed", job.getJobId(), job.getReportName(), e);
+            job.setError(e.getMessage());
+            job.setStatus(ReportJobStatus.FAILED);
+        } finally {
+            Instant completedAt = Instant.now();
+            job.setCompletedAt(completedAt);
+            job.setExpiresAt(completedAt.plus(resultTtl));
+            inFlight.remove(job.getReportName(), job);
+        }
+    }
+
+    /**
+     * Elimina los trabajos terminados cuyo TTL ha vencido, junto con su fichero de resultado.
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval-ms:60000}")
+    public void purgeExpiredJobs() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getExpiresAt() == null || job.getExpiresAt().isAfter(now)) {
+                return false;
+            }
+            if (job.getResultPath() != null) {
+                try {
+                    Files.deleteIfExists(job.getResultPath());
+                } catch (IOException e) {
+                    log.warn("Could not delete report result {}", job.getResultPath(), e);
+                }
+            }
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,25 @@
+package com.JuanGreenGarden.Gardening.persistence.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Conversor para las columnas de texto con pocos valores distintos. Al leer una fila sustituye el texto que
+ * crea el driver por la instancia compartida de {@link StringDictionary}; al escribir no cambia nada.
+ *
+ * Hibernate lo aplica también cuando la columna se selecciona en una consulta JPQL, así que las proyecciones
+ * y los DTO construidos a partir de las entidades comparten las mismas instancias.
+ */
+@Converter
+public class SharedStringConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return attribute;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return StringDictionary.canonical(dbData);
+    }
+}
@@ -0,0 +1,39 @@
+package com.JuanGreenGarden.Gardening.persistence.converter;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de textos que se repiten mucho entre filas, como países, ciudades o estados de pedido.
+ *
+ * Devuelve siempre la misma instancia para el mismo texto, así que un listado de un millón de clientes guarda
+ * unas pocas cadenas de país en lugar de un millón de copias. A diferencia de {@link String#intern()}, el
+ * diccionario está en el heap normal y tiene un tamaño máximo: cuando se llena, los textos nuevos se devuelven
+ * tal cual, de modo que una columna con más valores distintos de los previstos no lo hace crecer sin límite.
+ */
+public final class StringDictionary {
+
+    private static final int MAX_ENTRIES = 16_384;
+
+    private static final ConcurrentHashMap<String, String> VALUES = new ConcurrentHashMap<>();
+
+    private StringDictionary() {
+    }
+
+    /**
+     * @return La instancia compartida de ese texto, o el propio texto si el diccionario está lleno. Null si es null.
+     */
+    public static String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = VALUES.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (VALUES.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        shared = VALUES.putIfAbsent(value, value);
+        return shared == null ? value : shared;
+    }
+}
@@ -5,26 +5,37 @@ import lombok.Data;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.JuanGreenGarden.Gardening.persistence.converter.SharedStringConverter;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.CustomerDTO;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Data
 @Entity
-@Table(name = "cliente")
+@Table(name = "cliente", indexes = {
+        @Index(name = "idx_cliente_nombre", columnList = "nombre_cliente"),
+        @Index(name = "idx_cliente_pais", columnList = "pais"),
+        @Index(name = "idx_cliente_ciudad", columnList = "ciudad"),
+        @Index(name = "idx_cliente_rep_ventas", columnList = "codigo_empleado_rep_ventas"),
+        @Index(name = "idx_cliente_limite_credito", columnList = "limite_credito")
+})
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_codigo_cliente_seq", allocationSize = 50)
     @Column(name = "codigo_cliente", length = 50)
     private Integer customerNumber;
 
@@ -49,12 +60,15 @@ public class Customer {
     @Column(name = "linea_direccion2", length = 50)
     private String addressLine2;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "ciudad", length = 50, nullable = false)
     private String city;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "region", length = 50)
     private String region;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "pais", length = 50)
     private String country;
 
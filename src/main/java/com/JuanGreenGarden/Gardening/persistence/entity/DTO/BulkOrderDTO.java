@@ -0,0 +1,71 @@
+package com.JuanGreenGarden.Gardening.persistence.entity.DTO;
+
+import java.util.Date;
+import java.util.List;
+
+public class BulkOrderDTO {
+    private Integer customerNumber;
+    private Date orderDate;
+    private Date requiredDate;
+    private Date shippedDate;
+    private String status;
+    private String comments;
+    private List<BulkOrderLineDTO> lines;
+
+
+    public Integer getCustomerNumber() {
+        return this.customerNumber;
+    }
+
+    public void setCustomerNumber(Integer customerNumber) {
+        this.customerNumber = customerNumber;
+    }
+
+    public Date getOrderDate() {
+        return this.orderDate;
+    }
+
+    public void setOrderDate(Date orderDate) {
+        this.orderDate = orderDate;
+    }
+
+    public Date getRequiredDate() {
+        return this.requiredDate;
+    }
+
+    public void setRequiredDate(Date requiredDate) {
+        this.requiredDate = requiredDate;
+    }
+
+    public Date getShippedDate() {
+        return this.shippedDate;
+    }
+
+    public void setShippedDate(Date shippedDate) {
+        this.shippedDate = shippedDate;
+    }
+
+    public String getStatus() {
+        return this.status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getComments() {
+        return this.comments;
+    }
+
+    public void setComments(String comments) {
+        this.comments = comments;
+    }
+
+    public List<BulkOrderLineDTO> getLines() {
+        return this.lines;
+    }
+
+    public void setLines(List<BulkOrderLineDTO> lines) {
+        this.lines = lines;
+    }
+}
@@ -0,0 +1,32 @@
+package com.JuanGreenGarden.Gardening.persistence.entity.DTO;
+
+public class BulkOrderLineDTO {
+    private String productCode;
+    private Integer quantityOrdered;
+    private Double priceEach;
+
+
+    public String getProductCode() {
+        return this.productCode;
+    }
+
+    public void setProductCode(String productCode) {
+        this.productCode = productCode;
+    }
+
+    public Integer getQuantityOrdered() {
+        return this.quantityOrdered;
+    }
+
+    public void setQuantityOrdered(Integer quantityOrdered) {
+        this.quantityOrdered = quantityOrdered;
+    }
+
+    public Double getPriceEach() {
+        return this.priceEach;
+    }
+
+    public void setPriceEach(Double priceEach) {
+        this.priceEach = priceEach;
+    }
+}
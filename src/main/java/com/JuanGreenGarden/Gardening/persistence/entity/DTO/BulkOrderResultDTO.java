@@ -0,0 +1,71 @@
+package com.JuanGreenGarden.Gardening.persistence.entity.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkOrderResultDTO {
+    private int ordersReceived;
+    private int ordersInserted;
+    private int linesInserted;
+    private int chunks;
+    private long elapsedMillis;
+    private double linesPerSecond;
+    private List<String> rejects = new ArrayList<>();
+
+
+    public int getOrdersReceived() {
+        return this.ordersReceived;
+    }
+
+    public void setOrdersReceived(int ordersReceived) {
+        this.ordersReceived = ordersReceived;
+    }
+
+    public int getOrdersInserted() {
+        return this.ordersInserted;
+    }
+
+    public void setOrdersInserted(int ordersInserted) {
+        this.ordersInserted = ordersInserted;
+    }
+
+    public int getLinesInserted() {
+        return this.linesInserted;
+    }
+
+    public void setLinesInserted(int linesInserted) {
+        this.linesInserted = linesInserted;
+    }
+
+    public int getChunks() {
+        return this.chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getLinesPerSecond() {
+        return this.linesPerSecond;
+    }
+
+    public void setLinesPerSecond(double linesPerSecond) {
+        this.linesPerSecond = linesPerSecond;
+    }
+
+    public List<String> getRejects() {
+        return this.rejects;
+    }
+
+    public void setRejects(List<String> rejects) {
+        this.rejects = rejects;
+    }
+}
@@ -0,0 +1,71 @@
+package com.JuanGreenGarden.Gardening.persistence.entity.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PaymentImportResultDTO {
+    private long rowsRead;
+    private long rowsInserted;
+    private long duplicates;
+    private long rejectCount;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<String> rejects = new ArrayList<>();
+
+
+    public long getRowsRead() {
+        return this.rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsInserted() {
+        return this.rowsInserted;
+    }
+
+    public void setRowsInserted(long rowsInserted) {
+        this.rowsInserted = rowsInserted;
+    }
+
+    public long getDuplicates() {
+        return this.duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getRejectCount() {
+        return this.rejectCount;
+    }
+
+    public void setRejectCount(long rejectCount) {
+        this.rejectCount = rejectCount;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return this.rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<String> getRejects() {
+        return this.rejects;
+    }
+
+    public void setRejects(List<String> rejects) {
+        this.rejects = rejects;
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -21,7 +22,11 @@ import com.JuanGreenGarden.Gardening.persistence.entity.DTO.*;;
 
 @Data
 @Entity
-@Table(name = "empleado")
+@Table(name = "empleado", indexes = {
+        @Index(name = "idx_empleado_puesto", columnList = "puesto"),
+        @Index(name = "idx_empleado_oficina", columnList = "codigo_oficina"),
+        @Index(name = "idx_empleado_jefe", columnList = "codigo_jefe")
+})
 public class Employee {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,22 @@
+package com.JuanGreenGarden.Gardening.persistence.entity;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import lombok.Data;
+
+/**
+ * Estado de una grabación de JFR lanzada desde la API. {@code sizeBytes} es lo que ocupa el fichero
+ * {@code .jfr} una vez detenida la grabación.
+ */
+@Data
+public class JfrRecordingInfo {
+    private final long id;
+    private final String state;
+    private final String settings;
+    private final Instant startedAt;
+    private final Instant stoppedAt;
+    private final Duration duration;
+    private final long maxSizeBytes;
+    private final long sizeBytes;
+}
@@ -4,14 +4,14 @@ import lombok.Data;
 
 import java.util.List;
 
+import com.JuanGreenGarden.Gardening.persistence.converter.SharedStringConverter;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OfficeDTO;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -21,16 +21,18 @@ import jakarta.persistence.Table;
 @Table(name = "oficina")
 public class Office {
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     @Column(name = "codigo_oficina", length = 100)
     private String officeCode;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "ciudad", length = 30, nullable = false)
     private String city;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "pais", length = 50, nullable = false)
     private String country;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "region", length = 50)
     private String region;
 
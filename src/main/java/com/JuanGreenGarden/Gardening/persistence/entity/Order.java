@@ -5,10 +5,12 @@ import lombok.Data;
 import java.util.Date;
 import java.util.List;
 
+import com.JuanGreenGarden.Gardening.persistence.converter.SharedStringConverter;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDTO;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -17,6 +19,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
@@ -26,7 +29,8 @@ import jakarta.persistence.TemporalType;
 @Table(name = "pedido")
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_codigo_pedido_seq", allocationSize = 50)
     @Column(name = "codigo_pedido", length = 100)
     private Integer orderNumber;
 
@@ -42,6 +46,7 @@ public class Order {
     @Column(name = "fecha_entrega")
     private Date shippedDate;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "estado", length = 15, nullable = false)
     private String status;
 
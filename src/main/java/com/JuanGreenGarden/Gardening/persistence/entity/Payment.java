@@ -3,16 +3,15 @@ package com.JuanGreenGarden.Gardening.persistence.entity;
 import java.math.BigDecimal;
 import java.util.Date;
 
+import com.JuanGreenGarden.Gardening.persistence.converter.SharedStringConverter;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentDTO;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
@@ -23,12 +22,6 @@ import lombok.Data;
 @Table(name = "pago")
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @SequenceGenerator(
-        name = "customer_number_sequence",
-        sequenceName = "customer_number_sequence",
-        allocationSize = 1
-    )
     @Column(name = "codigo_cliente")
     private Integer customerNumber;
 
@@ -42,6 +35,7 @@ public class Payment {
     @Column(name = "total", nullable = false)
     private BigDecimal amount;
 
+    @Convert(converter = SharedStringConverter.class)
     @Column(name = "forma_pago", length = 40,  nullable = false)
     private String paymentMethod;
 
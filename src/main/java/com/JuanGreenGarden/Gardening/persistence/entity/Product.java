@@ -9,9 +9,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -21,10 +20,13 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "producto")
+@Table(name = "producto", indexes = {
+        @Index(name = "idx_producto_gama_stock", columnList = "gama, cantidad_en_stock"),
+        @Index(name = "idx_producto_stock", columnList = "cantidad_en_stock"),
+        @Index(name = "idx_producto_precio_venta", columnList = "precio_venta")
+})
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     @Column(name = "codigo_producto", length = 150)
     private String productCode;
 
@@ -0,0 +1,33 @@
+package com.JuanGreenGarden.Gardening.persistence.entity;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+
+/**
+ * Trabajo asíncrono de reporte. El resultado se guarda en disco y se conserva hasta {@code expiresAt}.
+ */
+@Data
+public class ReportJob {
+    private final String jobId;
+    private final String reportName;
+    private final Instant submittedAt;
+
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant completedAt;
+    private volatile Instant expiresAt;
+    private volatile long resultSizeBytes;
+    private volatile String error;
+
+    @JsonIgnore
+    private volatile Path resultPath;
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return status == ReportJobStatus.COMPLETED || status == ReportJobStatus.FAILED;
+    }
+}
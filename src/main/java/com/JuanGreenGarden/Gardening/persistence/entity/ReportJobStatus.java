@@ -0,0 +1,11 @@
+package com.JuanGreenGarden.Gardening.persistence.entity;
+
+/**
+ * Estados por los que pasa un trabajo asíncrono de reporte.
+ */
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
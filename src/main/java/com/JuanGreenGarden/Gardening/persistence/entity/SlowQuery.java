@@ -0,0 +1,22 @@
+package com.JuanGreenGarden.Gardening.persistence.entity;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Sentencia SQL que superó el umbral de consultas lentas. El plan de ejecución solo se obtiene para una
+ * muestra de las consultas y llega después, cuando termina el {@code EXPLAIN ANALYZE}.
+ */
+@Data
+public class SlowQuery {
+    private final Instant capturedAt;
+    private final long elapsedMillis;
+    private final String sql;
+    private final List<String> parameters;
+    private final String caller;
+
+    private volatile String plan;
+    private volatile String planError;
+}
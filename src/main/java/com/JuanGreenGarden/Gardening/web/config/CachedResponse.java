@@ -0,0 +1,19 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un GET cuya respuesta solo cambia cuando cambian los datos de las tablas de su {@link TableDependencies}.
+ *
+ * {@link ResponseCacheFilter} guarda los bytes ya serializados de la respuesta y los vuelve a enviar sin llamar
+ * al controlador mientras no se escriba en ninguna de esas tablas.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+}
@@ -0,0 +1,73 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.JuanGreenGarden.Gardening.domain.cache.TableVersionRegistry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Atiende {@code If-None-Match} e {@code If-Modified-Since} en los GET de la API con {@link TableDependencies}.
+ *
+ * El ETag y el {@code Last-Modified} salen de {@link TableVersionRegistry}: el ETag es débil y lleva el arranque
+ * y la versión conjunta de las tablas, y la fecha es la de la última escritura en ellas. Si el cliente ya tiene
+ * esa versión se responde 304 sin llamar al controlador, así que no se lanza ninguna consulta. Los métodos con
+ * {@link CachedResponse} llevan un ETag fuerte sobre los bytes y los atiende {@link ResponseCacheFilter}.
+ *
+ * Las respuestas llevan {@code Cache-Control: private, no-cache} en lugar del {@code no-store} que pone Spring
+ * Security, para que el navegador las guarde y las revalide.
+ */
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private final TableDependencyResolver resolver;
+    private final TableVersionRegistry tableVersions;
+    private final Counter notModified;
+
+    @Autowired
+    public ConditionalGetFilter(TableDependencyResolver resolver, TableVersionRegistry tableVersions,
+                                MeterRegistry meterRegistry) {
+        this.resolver = resolver;
+        this.tableVersions = tableVersions;
+        this.notModified = Counter.builder("http.conditional.not-modified").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TableDependencyResolver.Endpoint endpoint = resolver.resolve(request);
+        if (endpoint == null || endpoint.cachedResponse()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String etag = "W/\"" + Long.toString(tableVersions.getEpoch(), 36) + "-" + tableVersions.version(endpoint.tables()) + '"';
+        long lastModified = tableVersions.lastModified(endpoint.tables()).toEpochMilli();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            notModified.increment();
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
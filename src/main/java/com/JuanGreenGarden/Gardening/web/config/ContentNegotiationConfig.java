@@ -0,0 +1,60 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.rest.webmvc.config.RepositoryRestConfigurer;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExceptionResolver;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Formatos binarios para los clientes internos: con {@code Accept: application/cbor} o
+ * {@code Accept: application/x-jackson-smile} las respuestas se escriben en CBOR o Smile en lugar de JSON.
+ *
+ * Los conversores usan el mismo {@link Jackson2ObjectMapperBuilder} de Spring Boot que el de JSON, así que
+ * serializan los mismos campos con la misma configuración. Sustituyen a los conversores por defecto de Spring
+ * MVC y ocupan su lugar, detrás del de JSON, de modo que un navegador, que acepta cualquier tipo, sigue
+ * recibiendo JSON.
+ *
+ * Spring Data REST añade su propio resolutor de excepciones, por delante del de Spring MVC, que atiende también
+ * los {@code @ExceptionHandler} de la aplicación con los conversores registrados como beans, y ahí estos quedan
+ * delante del de JSON. Sin corregir ese orden, los errores se enviaban en CBOR a los clientes que aceptan
+ * cualquier tipo.
+ */
+@Configuration
+public class ContentNegotiationConfig implements RepositoryRestConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void configureExceptionHandlerExceptionResolver(ExceptionHandlerExceptionResolver exceptionResolver) {
+        List<HttpMessageConverter<?>> converters = new ArrayList<>();
+        List<HttpMessageConverter<?>> binary = new ArrayList<>();
+        for (HttpMessageConverter<?> converter : exceptionResolver.getMessageConverters()) {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter
+                    || converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                binary.add(converter);
+            } else {
+                converters.add(converter);
+            }
+        }
+        converters.addAll(binary);
+        exceptionResolver.setMessageConverters(converters);
+    }
+}
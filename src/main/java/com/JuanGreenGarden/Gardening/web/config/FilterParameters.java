@@ -0,0 +1,29 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterCondition;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Lee las condiciones de filtro de los parámetros {@code filter} de una petición.
+ */
+public final class FilterParameters {
+
+    private FilterParameters() {
+    }
+
+    /**
+     * Lee todas las condiciones de los parámetros {@code filter} de una petición. Se leen directamente de la
+     * petición porque Spring separa por comas un parámetro único y rompería los valores de {@code in}.
+     *
+     * @throws InvalidFilterException Si alguna condición no tiene la forma {@code campo:operador:valor}.
+     */
+    public static List<FilterCondition> conditions(HttpServletRequest request) {
+        String[] filters = request.getParameterValues("filter");
+        return filters == null ? List.of() : Arrays.stream(filters).map(FilterCondition::parse).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Hace que las respuestas de la API que caben en el buffer salgan con {@code Content-Length}, para que Tomcat
+ * pueda aplicar {@code server.compression.min-response-size}.
+ *
+ * Los conversores de Spring hacen flush al terminar de escribir, lo que envía la respuesta por trozos y sin
+ * tamaño; Tomcat comprime entonces hasta las respuestas de pocos bytes, en las que gzip ocupa más que el original.
+ * Este filtro fija el tamaño del buffer de salida e ignora esos flush: si la respuesta cabe en el buffer, se
+ * envía entera al terminar la petición con su tamaño, y si no cabe, Tomcat la va enviando al llenarse el buffer
+ * como hasta ahora.
+ */
+@Component
+public class ResponseBufferFilter extends OncePerRequestFilter {
+
+    private final int bufferSize;
+
+    @Autowired
+    public ResponseBufferFilter(@Value("${app.web.response-buffer-size:16384}") int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        response.setBufferSize(bufferSize);
+        filterChain.doFilter(request, new DeferredFlushResponse(response));
+    }
+
+    /**
+     * Respuesta cuyo flush no envía nada; lo escrito sale cuando se llena el buffer o termina la petición.
+     */
+    private static class DeferredFlushResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream outputStream;
+
+        DeferredFlushResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new DeferredFlushOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void flushBuffer() {
+        }
+    }
+
+    private static class DeferredFlushOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        DeferredFlushOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.JuanGreenGarden.Gardening.domain.cache.TableVersionRegistry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Guarda los bytes ya serializados de las respuestas de los métodos marcados con {@link CachedResponse}, junto
+ * con un ETag fuerte calculado sobre ellos. Con ese ETag atiende también {@code If-None-Match}, y con la fecha
+ * de la última escritura en sus tablas, {@code If-Modified-Since}.
+ *
+ * La clave es el método y la cabecera {@code Accept}, porque de ella depende el formato. La query string no
+ * forma parte de la clave: los métodos marcados no reciben parámetros, y con ella cualquier cliente podría llenar
+ * la caché con URLs distintas. Cada entrada recuerda la versión en {@link TableVersionRegistry} de las tablas de
+ * su {@link TableDependencies}, leída antes de ejecutar el controlador, y solo se sirve mientras esa versión no
+ * cambie. Al llegar a {@code app.web.response-cache.max-entries} se descarta la entrada usada hace más tiempo.
+ *
+ * Un acierto escribe los bytes directamente en la salida, sin pasar por el controlador, el servicio ni Jackson.
+ * El filtro va detrás de la cadena de seguridad, así que la petición ya está autenticada igual que si llegara al
+ * controlador.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private final TableDependencyResolver resolver;
+    private final TableVersionRegistry tableVersions;
+    private final int maxEntryBytes;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public ResponseCacheFilter(TableDependencyResolver resolver,
+                               TableVersionRegistry tableVersions,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.web.response-cache.max-entries:1000}") int maxEntries,
+                               @Value("${app.web.response-cache.max-entry-bytes:1048576}") int maxEntryBytes) {
+        this.resolver = resolver;
+        this.tableVersions = tableVersions;
+        this.maxEntryBytes = maxEntryBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = Counter.builder("http.response.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("http.response.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TableDependencyResolver.Endpoint endpoint = resolver.resolve(request);
+        if (endpoint == null || !endpoint.cachedResponse()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = endpoint.name() + '|' + request.getHeader(HttpHeaders.ACCEPT);
+        long version = tableVersions.version(endpoint.tables());
+        long lastModified = tableVersions.lastModified(endpoint.tables()).toEpochMilli();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalGetFilter.CACHE_CONTROL);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.version() == version) {
+            hits.increment();
+            if (new ServletWebRequest(request, response).checkNotModified(entry.etag(), lastModified)) {
+                return;
+            }
+            response.setContentType(entry.contentType());
+            response.setContentLength(entry.body().length);
+            response.getOutputStream().write(entry.body());
+            return;
+        }
+
+        misses.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                byte[] body = wrapper.getContentAsByteArray();
+                entry = new Entry(version, wrapper.getContentType(), body, '"' + DigestUtils.md5DigestAsHex(body) + '"');
+                if (body.length <= maxEntryBytes) {
+                    synchronized (entries) {
+                        entries.put(key, entry);
+                    }
+                }
+                if (new ServletWebRequest(request, wrapper).checkNotModified(entry.etag(), lastModified)) {
+                    wrapper.resetBuffer();
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private record Entry(long version, String contentType, byte[] body, String etag) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tablas de las que se leen los datos de las respuestas de un controlador o de uno de sus métodos. La del
+ * método sustituye a la del controlador.
+ *
+ * Con ellas {@link ConditionalGetFilter} responde 304 a los GET cuyos datos no han cambiado y
+ * {@link ResponseCacheFilter} invalida las respuestas guardadas. Los GET que no las declaran (estado de
+ * trabajos, métricas de administración) se atienden siempre. Una lista vacía en un método lo excluye aunque el
+ * controlador declare tablas; sirve para los reportes que pueden devolver datos anteriores a la última escritura.
+ */
+@Documented
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TableDependencies {
+
+    /**
+     * Los nombres de las tablas, tal como aparecen en {@code @Table}.
+     */
+    String[] value();
+}
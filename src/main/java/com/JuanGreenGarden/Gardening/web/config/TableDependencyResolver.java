@@ -0,0 +1,91 @@
+package com.JuanGreenGarden.Gardening.web.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Averigua, antes de que la petición llegue a Spring MVC, qué método de controlador la va a atender y de qué
+ * tablas dependen sus datos según {@link TableDependencies}.
+ *
+ * Usa la misma búsqueda que el {@code DispatcherServlet}, una sola vez por petición: el resultado queda en un
+ * atributo de la petición para los demás filtros.
+ */
+@Component
+public class TableDependencyResolver {
+
+    private static final String ATTRIBUTE = TableDependencyResolver.class.getName() + ".ENDPOINT";
+    private static final Endpoint NONE = new Endpoint(null, null, false);
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TableDependencyResolver(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    /**
+     * @return El método que atiende la petición y sus tablas, o null si no hay método o no declara tablas.
+     */
+    public Endpoint resolve(HttpServletRequest request) {
+        Endpoint endpoint = (Endpoint) request.getAttribute(ATTRIBUTE);
+        if (endpoint == null) {
+            HandlerMethod handler = lookup(request);
+            endpoint = handler != null ? endpoints.computeIfAbsent(handler.getMethod(), method -> endpoint(handler)) : NONE;
+            request.setAttribute(ATTRIBUTE, endpoint);
+        }
+        return endpoint != NONE ? endpoint : null;
+    }
+
+    private HandlerMethod lookup(HttpServletRequest request) {
+        boolean parsed = !ServletRequestPathUtils.hasParsedRequestPath(request);
+        if (parsed) {
+            ServletRequestPathUtils.parseAndCache(request);
+        }
+        try {
+            HandlerExecutionChain chain = handlerMapping.getHandler(request);
+            return chain != null && chain.getHandler() instanceof HandlerMethod handler ? handler : null;
+        } catch (Exception e) {
+            // Sin método que la atienda: Spring MVC responderá 404, 405 o 406 como siempre
+            return null;
+        } finally {
+            if (parsed) {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+    }
+
+    private static Endpoint endpoint(HandlerMethod handler) {
+        TableDependencies dependencies = handler.getMethodAnnotation(TableDependencies.class);
+        if (dependencies == null) {
+            dependencies = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), TableDependencies.class);
+        }
+        if (dependencies == null || dependencies.value().length == 0) {
+            return NONE;
+        }
+        return new Endpoint(handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName(),
+                dependencies.value(), handler.hasMethodAnnotation(CachedResponse.class));
+    }
+
+    /**
+     * Un método de controlador con tablas declaradas.
+     *
+     * @param name           La clase y el método, para las claves de caché.
+     * @param tables         Las tablas de las que dependen sus respuestas.
+     * @param cachedResponse Si está marcado con {@link CachedResponse}.
+     */
+    public record Endpoint(String name, String[] tables, boolean cachedResponse) {
+    }
+}
@@ -19,17 +19,23 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidIdFormatException;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterCondition;
 import com.JuanGreenGarden.Gardening.domain.service.CustomerService;
 import com.JuanGreenGarden.Gardening.persistence.entity.Customer;
 import com.JuanGreenGarden.Gardening.persistence.entity.CustomerRepresentativeOfficeDTO;
 import com.JuanGreenGarden.Gardening.persistence.entity.CustomerSalesRepDTO;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.CustomerDTO;
+import com.JuanGreenGarden.Gardening.web.config.FilterParameters;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
+@TableDependencies({ "cliente", "empleado", "oficina", "pago", "pedido" })
 @RequestMapping("/api/customers")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
@@ -45,10 +51,15 @@ public class CustomerController {
     /**
      * Obtiene todos los clientes.
      * 
+     * @param fields Opcional: los campos que se quieren, separados por comas. Solo se leen y se devuelven esos.
      * @return Una respuesta con una lista de todos los clientes.
+     * @throws InvalidFilterException Si algún campo pedido no existe.
      */
     @GetMapping
-    public ResponseEntity<List<CustomerDTO>> getAllCustomers() {
+    public ResponseEntity<?> getAllCustomers(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(customerService.getCustomerFields(fields));
+        }
         List<CustomerDTO> customers = customerService.getAllCustomers();
         return new ResponseEntity<>(customers, HttpStatus.OK);
     }
@@ -57,13 +68,19 @@ public class CustomerController {
      * Obtiene un cliente por su ID.
      * 
      * @param customerId El ID del cliente a obtener.
+     * @param fields     Opcional: los campos que se quieren, separados por comas. Sin él se devuelve el cliente
+     *                   completo con su representante de ventas y la oficina de este.
      * @return Una respuesta con el cliente correspondiente al ID especificado.
+     * @throws InvalidFilterException Si algún campo pedido no existe.
      */
     @GetMapping("/{customerId}")
-    public ResponseEntity<Customer> getCustomerById(@PathVariable String customerId) {
+    public ResponseEntity<?> getCustomerById(@PathVariable String customerId,
+                                             @RequestParam(required = false) String fields) {
         try {
             Integer id = Integer.parseInt(customerId);
-            Customer customer = customerService.getCustomerById(id);
+            Object customer = fields != null
+                    ? customerService.getCustomerFieldsById(id, fields)
+                    : customerService.getCustomerById(id);
             if (customer != null) {
                 return new ResponseEntity<>(customer, HttpStatus.OK);
             } else {
@@ -74,6 +91,80 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Busca clientes con un filtro sobre los campos indexados. Cada parámetro {@code filter} es una condición
+     * {@code campo:operador:valor} y todas se combinan con AND, por ejemplo
+     * {@code ?filter=country:eq:Spain&filter=city:prefix:M}.
+     *
+     * @param fields  Opcional: los campos que se quieren, separados por comas.
+     * @param request La petición con los parámetros {@code filter}.
+     * @return Una respuesta con los clientes que cumplen el filtro.
+     * @throws InvalidFilterException Si el filtro usa un campo u operador que no resuelve ningún índice, o si
+     *                                algún campo pedido no existe.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCustomers(@RequestParam(required = false) String fields, HttpServletRequest request) {
+        List<FilterCondition> conditions = FilterParameters.conditions(request);
+        if (fields != null) {
+            return ResponseEntity.ok(customerService.searchCustomerFields(conditions, fields));
+        }
+        return ResponseEntity.ok(customerService.searchCustomers(conditions));
+    }
+
+    /**
+     * Cuenta los clientes que cumplen un filtro sobre los campos indexados.
+     *
+     * @param request La petición con los parámetros {@code filter}.
+     * @return Una respuesta con el número de clientes que cumplen el filtro.
+     * @throws InvalidFilterException Si el filtro usa un campo u operador que no resuelve ningún índice.
+     */
+    @GetMapping("/search/count")
+    public ResponseEntity<Long> countCustomers(HttpServletRequest request) {
+        return ResponseEntity.ok(customerService.countCustomers(FilterParameters.conditions(request)));
+    }
+
+    /**
+     * Cuenta los clientes que cumplen un filtro agrupados por un campo filtrable, por ejemplo
+     * {@code ?groupBy=city&filter=city:prefix:M}.
+     *
+     * @param groupBy El campo por el que se agrupa.
+     * @param request La petición con los parámetros {@code filter}.
+     * @return Una respuesta con la lista de valores del campo y el número de clientes de cada uno.
+     * @throws InvalidFilterException Si el campo de agrupación o el filtro no están permitidos.
+     */
+    @GetMapping("/search/count-by")
+    public ResponseEntity<List<Object[]>> countCustomersBy(@RequestParam String groupBy, HttpServletRequest request) {
+        return ResponseEntity.ok(customerService.countCustomersBy(groupBy, FilterParameters.conditions(request)));
+    }
+
+    /**
+     * Sugiere nombres de cliente mientras se escriben, sin distinguir mayúsculas ni tildes.
+     *
+     * @param prefix El texto escrito hasta ahora.
+     * @param limit  El número máximo de sugerencias, 10 si no se indica.
+     * @return Una respuesta con los nombres que empiezan por el prefijo.
+     * @throws DifferentDataTypeException Si {@code limit} no está entre 1 y 50.
+     */
+    @GetMapping("/name-suggestions")
+    public ResponseEntity<List<String>> suggestCustomerNames(@RequestParam(defaultValue = "") String prefix,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(customerService.suggestCustomerNames(prefix, limit));
+    }
+
+    /**
+     * Sugiere ciudades de clientes mientras se escriben, sin distinguir mayúsculas ni tildes.
+     *
+     * @param prefix El texto escrito hasta ahora.
+     * @param limit  El número máximo de sugerencias, 10 si no se indica.
+     * @return Una respuesta con las ciudades que empiezan por el prefijo, de la que más clientes tiene a la que menos.
+     * @throws DifferentDataTypeException Si {@code limit} no está entre 1 y 50.
+     */
+    @GetMapping("/city-suggestions")
+    public ResponseEntity<List<String>> suggestCities(@RequestParam(defaultValue = "") String prefix,
+                                                      @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(customerService.suggestCities(prefix, limit));
+    }
+
     /**
      * Obtiene clientes españoles.
      * 
@@ -215,8 +306,7 @@ public class CustomerController {
      */
     @GetMapping("/sales-representatives")
     public ResponseEntity<List<CustomerSalesRepDTO>> getCustomersWithSalesRepresentatives() {
-        List<Customer> customers = customerService.getAllCustomerss();
-        List<CustomerSalesRepDTO> customerSalesRepDTOs = CustomerSalesRepDTO.fromCustomers(customers);
+        List<CustomerSalesRepDTO> customerSalesRepDTOs = customerService.getCustomersWithSalesRepresentatives();
         return ResponseEntity.ok(customerSalesRepDTOs);
     }
 
@@ -15,18 +15,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidIdFormatException;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
 import com.JuanGreenGarden.Gardening.domain.service.EmployeeService;
 import com.JuanGreenGarden.Gardening.persistence.entity.Employee;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.EmployeeDTO;
+import com.JuanGreenGarden.Gardening.web.config.FilterParameters;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controlador REST para operaciones relacionadas con los empleados.
  */
 @RestController
+@TableDependencies({ "empleado", "oficina", "cliente", "pago", "pedido" })
 @RequestMapping("/api/employees")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
@@ -101,6 +106,32 @@ public class EmployeeController {
         }
     }
 
+    /**
+     * Busca empleados con un filtro sobre los campos indexados. Cada parámetro {@code filter} es una condición
+     * {@code campo:operador:valor} y todas se combinan con AND, por ejemplo
+     * {@code ?filter=office:eq:BCN-ES&filter=jobTitle:eq:Representante Ventas}.
+     *
+     * @param request La petición con los parámetros {@code filter}.
+     * @return Una respuesta con los empleados que cumplen el filtro.
+     * @throws InvalidFilterException Si el filtro usa un campo u operador que no resuelve ningún índice.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<EmployeeDTO>> searchEmployees(HttpServletRequest request) {
+        return ResponseEntity.ok(employeeService.searchEmployees(FilterParameters.conditions(request)));
+    }
+
+    /**
+     * Cuenta los empleados que cumplen un filtro sobre los campos indexados.
+     *
+     * @param request La petición con los parámetros {@code filter}.
+     * @return Una respuesta con el número de empleados que cumplen el filtro.
+     * @throws InvalidFilterException Si el filtro usa un campo u operador que no resuelve ningún índice.
+     */
+    @GetMapping("/search/count")
+    public ResponseEntity<Long> countEmployees(HttpServletRequest request) {
+        return ResponseEntity.ok(employeeService.countEmployees(FilterParameters.conditions(request)));
+    }
+
     /**
      * Obtiene los empleados que no son representantes de ventas.
      * 
@@ -172,6 +203,7 @@ public class EmployeeController {
      * @return Una respuesta HTTP que contiene una lista de arrays de objetos donde cada array contiene el nombre del representante de ventas y el número de clientes que atiende.
      */
     @GetMapping("/count-customers-by-sales-representative")
+    @TableDependencies({})
     public ResponseEntity<List<Object[]>> countCustomersBySalesRepresentative() {
         List<Object[]> salesRepresentativeCounts = employeeService.countCustomersBySalesRepresentative();
         return new ResponseEntity<>(salesRepresentativeCounts, HttpStatus.OK);
@@ -0,0 +1,82 @@
+package com.JuanGreenGarden.Gardening.web.controller;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
+import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.domain.monitoring.JfrRecorder;
+import com.JuanGreenGarden.Gardening.persistence.entity.JfrRecordingInfo;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+/**
+ * Controlador REST para grabar la aplicación con Java Flight Recorder y descargar la grabación.
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+public class JfrRecordingController {
+
+    private final JfrRecorder jfrRecorder;
+
+    @Autowired
+    public JfrRecordingController(JfrRecorder jfrRecorder) {
+        this.jfrRecorder = jfrRecorder;
+    }
+
+    /**
+     * Empieza una grabación de JFR que se detiene sola al cumplirse la duración.
+     *
+     * @param durationSeconds Duración máxima de la grabación en segundos.
+     * @param maxSizeMb       Tamaño máximo de la grabación en MB.
+     * @param settings        La configuración de JFR, {@code default} o {@code profile}.
+     * @return Una respuesta con la grabación creada, o con la que ya estaba en curso.
+     * @throws DifferentDataTypeException Si la duración, el tamaño o la configuración no son válidos.
+     */
+    @PostMapping("/start")
+    public ResponseEntity<JfrRecordingInfo> startRecording(@RequestParam(defaultValue = "60") long durationSeconds,
+                                                           @RequestParam(defaultValue = "50") long maxSizeMb,
+                                                           @RequestParam(defaultValue = "profile") String settings) {
+        return ResponseEntity.ok(jfrRecorder.start(durationSeconds, maxSizeMb, settings));
+    }
+
+    /**
+     * Obtiene el estado de la última grabación.
+     *
+     * @return Una respuesta con la grabación.
+     * @throws NotFoundEndPoint Si no se ha lanzado ninguna grabación.
+     */
+    @GetMapping
+    public ResponseEntity<JfrRecordingInfo> getRecording() {
+        return ResponseEntity.ok(jfrRecorder.status());
+    }
+
+    /**
+     * Detiene la grabación y descarga el fichero {@code .jfr}, que se abre con JDK Mission Control o con
+     * {@code jfr print}.
+     *
+     * @return El fichero de la grabación.
+     * @throws NotFoundEndPoint Si no se ha lanzado ninguna grabación.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<FileSystemResource> stopRecording() {
+        Path file = jfrRecorder.stop();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(new FileSystemResource(file));
+    }
+}
@@ -16,6 +16,8 @@ import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
 import com.JuanGreenGarden.Gardening.domain.service.OfficeService;
 import com.JuanGreenGarden.Gardening.persistence.entity.Office;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OfficeDTO;
+import com.JuanGreenGarden.Gardening.web.config.CachedResponse;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
@@ -23,6 +25,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
  * Controlador REST para operaciones relacionadas con las oficinas.
  */
 @RestController
+@TableDependencies({ "oficina", "empleado", "cliente", "pedido", "detalle_pedido", "producto", "gama_producto" })
 @RequestMapping("/api/offices")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
@@ -41,6 +44,8 @@ public class OfficeController {
      * @return Una respuesta con una lista de todas las oficinas.
      */
     @GetMapping
+    @TableDependencies("oficina")
+    @CachedResponse
     public ResponseEntity<List<OfficeDTO>> getAllOffices() {
         List<OfficeDTO> offices = officeService.getAllOffices();
         return new ResponseEntity<>(offices, HttpStatus.OK);
@@ -17,9 +17,14 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidIdFormatException;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.domain.service.OrderIngestionService;
 import com.JuanGreenGarden.Gardening.domain.service.OrderService;
 import com.JuanGreenGarden.Gardening.persistence.entity.Order;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderResultDTO;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDTO;
+import com.JuanGreenGarden.Gardening.web.config.CachedResponse;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
@@ -27,16 +32,19 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
  * Controlador REST para operaciones relacionadas con las órdenes.
  */
 @RestController
+@TableDependencies({ "pedido", "cliente", "detalle_pedido" })
 @RequestMapping("/api/orders")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIngestionService orderIngestionService;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIngestionService orderIngestionService) {
         this.orderService = orderService;
+        this.orderIngestionService = orderIngestionService;
     }
 
     /**
@@ -136,6 +144,7 @@ public class OrderController {
      * @return Lista de las diferentes gamas de producto que ha comprado cada cliente.
      */
     @GetMapping("/product-lines-purchased")
+    @TableDependencies({ "pedido", "cliente", "detalle_pedido", "producto" })
     public ResponseEntity<List<String>> findAllProductLinesByCustomers() {
         List<String> productLines = orderService.findAllProductLinesByCustomers();
         return new ResponseEntity<>(productLines, HttpStatus.OK);
@@ -147,8 +156,22 @@ public class OrderController {
      * @return Un ResponseEntity que contiene una lista de arreglos donde cada arreglo contiene el estado y la cantidad de pedidos para ese estado.
      */
     @GetMapping("/status-count")
+    @TableDependencies("pedido")
+    @CachedResponse
     public ResponseEntity<List<Object[]>> countOrdersByStatus() {
         List<Object[]> ordersByStatus = orderService.countOrdersByStatus();
         return ResponseEntity.ok(ordersByStatus);
     }
+
+    /**
+     * Guarda de una vez una lista de pedidos con sus líneas de detalle.
+     *
+     * @param orders Los pedidos a guardar, cada uno con sus líneas.
+     * @return Un ResponseEntity con el resumen de la carga: pedidos y líneas insertados, rechazos y líneas por segundo.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResultDTO> createOrdersInBulk(@RequestBody List<BulkOrderDTO> orders) {
+        BulkOrderResultDTO result = orderIngestionService.ingest(orders);
+        return ResponseEntity.ok(result);
+    }
 }
@@ -22,6 +22,7 @@ import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
 import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetailId;
 import com.JuanGreenGarden.Gardening.persistence.entity.ProductBillingSummary;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.OrderDetailDTO;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
@@ -29,6 +30,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
  * Controlador REST para operaciones relacionadas con los detalles de órdenes.
  */
 @RestController
+@TableDependencies({ "detalle_pedido", "pedido", "producto" })
 @RequestMapping("/api/orderdetails")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
@@ -122,12 +124,9 @@ public class OrderDetailController {
      * @return ResponseEntity con un mapa que contiene el resumen de facturación por producto.
      */
     @GetMapping("/summary-by-product")
+    @TableDependencies({})
     public ResponseEntity<Map<String, ProductBillingSummary>> getProductBillingSummary() {
-        Map<String, BigDecimal> baseImponiblePorProducto = orderDetailService.calcularBaseImponiblePorProducto();
-        Map<String, BigDecimal> ivaPorProducto = orderDetailService.calcularIVAPorProducto(baseImponiblePorProducto);
-        Map<String, BigDecimal> totalFacturadoPorProducto = orderDetailService.calcularTotalFacturadoPorProducto(baseImponiblePorProducto, ivaPorProducto);
-
-        Map<String, ProductBillingSummary> productBillingSummaryMap = ProductBillingSummary.fromMaps(baseImponiblePorProducto, ivaPorProducto, totalFacturadoPorProducto);
+        Map<String, ProductBillingSummary> productBillingSummaryMap = orderDetailService.getProductBillingSummary();
         return ResponseEntity.ok(productBillingSummaryMap);
     }
 
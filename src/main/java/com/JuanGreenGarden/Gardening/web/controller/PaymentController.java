@@ -1,23 +1,31 @@
 package com.JuanGreenGarden.Gardening.web.controller;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.domain.service.PaymentImportService;
 import com.JuanGreenGarden.Gardening.domain.service.PaymentService;
 import com.JuanGreenGarden.Gardening.persistence.entity.Payment;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.PaymentImportResultDTO;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
@@ -25,16 +33,19 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
  * Controlador REST para operaciones relacionadas con los pagos.
  */
 @RestController
+@TableDependencies({ "pago", "cliente", "empleado", "oficina" })
 @RequestMapping("/api/payments")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentImportService paymentImportService;
 
     @Autowired
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, PaymentImportService paymentImportService) {
         this.paymentService = paymentService;
+        this.paymentImportService = paymentImportService;
     }
 
     /**
@@ -123,6 +134,7 @@ public class PaymentController {
      * @return Lista de arrays de objetos que contienen el nombre y apellidos del cliente, así como la fecha del primer y último pago.
      */
     @GetMapping("/first-and-last-payment-dates-for-customers")
+    @TableDependencies({})
     public ResponseEntity<List<Object[]>> findFirstAndLastPaymentDatesForCustomers() {
         List<Object[]> paymentDates = paymentService.findFirstAndLastPaymentDatesForCustomers();
         return new ResponseEntity<>(paymentDates, HttpStatus.OK);
@@ -150,4 +162,21 @@ public class PaymentController {
         List<Object[]> result = paymentService.findCustomerPaymentsAndRepresentatives();
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Importa un fichero de pagos en CSV (con cabecera) o como array JSON. El cuerpo se lee en streaming.
+     *
+     * @param contentType El tipo del contenido: text/csv o application/json.
+     * @param body El contenido del fichero.
+     * @return El resumen de la importación, con las filas por segundo y los rechazos por fila.
+     * @throws DifferentDataTypeException Si el fichero no tiene el formato esperado.
+     */
+    @PostMapping(value = "/import", consumes = { "text/csv", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<PaymentImportResultDTO> importPayments(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                 InputStream body) {
+        PaymentImportResultDTO result = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? paymentImportService.importJson(body)
+                : paymentImportService.importCsv(body);
+        return ResponseEntity.ok(result);
+    }
 }
@@ -1,5 +1,7 @@
 package com.JuanGreenGarden.Gardening.web.controller;
 
+import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,17 +10,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.JuanGreenGarden.Gardening.domain.Exceptions.DifferentDataTypeException;
+import com.JuanGreenGarden.Gardening.domain.Exceptions.InvalidFilterException;
 import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.domain.filter.FilterCondition;
 import com.JuanGreenGarden.Gardening.domain.service.ProductService;
 import com.JuanGreenGarden.Gardening.persistence.entity.Product;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductDTO;
+import com.JuanGreenGarden.Gardening.web.config.FilterParameters;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controlador REST para operaciones relacionadas con los productos.
  */
 @RestController
+@TableDependencies({ "producto", "gama_producto", "detalle_pedido", "pedido" })
 @RequestMapping("/api/products")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
@@ -34,10 +43,15 @@ public class ProductController {
     /**
      * Obtiene todos los productos.
      * 
+     * @param fields Opcional: los campos que se quieren, separados por comas. Solo se leen y se devuelven esos.
      * @return Una respuesta con una lista de todos los productos.
+     * @throws InvalidFilterException Si algún campo pedido no existe.
      */
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
+    public ResponseEntity<?> getAllProducts(@RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return ResponseEntity.ok(productService.getProductFields(fields));
+        }
         List<ProductDTO> products = productService.getAllProducts();
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
@@ -46,12 +60,17 @@ public class ProductController {
      * Obtiene un producto por su código.
      * 
      * @param productCode El código del producto.
+     * @param fields      Opcional: los campos que se quieren, separados por comas.
      * @return            Una respuesta con el producto correspondiente al código especificado.
      * @throws NotFoundEndPoint Si no se encuentra ningún producto con el código especificado.
+     * @throws InvalidFilterException Si algún campo pedido no existe.
      */
     @GetMapping("/{productCode}")
-    public ResponseEntity<Product> getProductByCode(@PathVariable String productCode) {
-        Product product = productService.getProductByCode(productCode);
+    public ResponseEntity<?> getProductByCode(@PathVariable String productCode,
+                                              @RequestParam(required = false) String fields) {
+        Object product = fields != null
+                ? productService.getProductFieldsByCode(productCode, fields)
+                : productService.getProductByCode(productCode);
         if (product != null){
             return new ResponseEntity<>(product, HttpStatus.OK);
         } else {
@@ -59,13 +78,74 @@ public class ProductController {
         }
     }
 
+    /**
+     * Busca productos con un filtro sobre los campos indexados. Cada parámetro {@code filter} es una condición
+     * {@code campo:operador:valor} y todas se combinan con AND, por ejemplo
+     * {@code ?filter=productLine:eq:Ornamentales&filter=quantityInStock:gt:100}.
+     *
+     * @param fields  Opcional: los campos que se quieren, separados por comas.
+     * @param request La petición con los parámetros {@code filter}.
+     * @return Una respuesta con los productos que cumplen el filtro.
+     * @throws InvalidFilterException Si el filtro usa un campo u operador que no resuelve ningún índice, o si
+     *                                algún campo pedido no existe.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchProducts(@RequestParam(required = false) String fields, HttpServletRequest request) {
+        List<FilterCondition> conditions = FilterParameters.conditions(request);
+        if (fields != null) {
+            return ResponseEntity.ok(productService.searchProductFields(conditions, fields));
+        }
+        return ResponseEntity.ok(productService.searchProducts(conditions));
+    }
+
+    /**
+     * Busca productos por texto en el nombre, el proveedor y la descripción, sin distinguir mayúsculas ni tildes.
+     * Cada palabra encuentra también las que empiezan por ella, por ejemplo {@code ?q=rosa roj}.
+     *
+     * @param q     El texto que se busca.
+     * @param limit El número máximo de productos, 20 si no se indica.
+     * @return Una respuesta con los productos que contienen todas las palabras, del más relevante al que menos.
+     * @throws DifferentDataTypeException Si {@code limit} no está entre 1 y 100.
+     */
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<List<ProductDTO>> searchProductsByText(@RequestParam String q,
+                                                                 @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(productService.searchProductsByText(q, limit));
+    }
+
+    /**
+     * Sugiere códigos de producto mientras se escriben, sin distinguir mayúsculas.
+     *
+     * @param prefix El texto escrito hasta ahora.
+     * @param limit  El número máximo de sugerencias, 10 si no se indica.
+     * @return Una respuesta con los códigos que empiezan por el prefijo, en orden alfabético.
+     * @throws DifferentDataTypeException Si {@code limit} no está entre 1 y 50.
+     */
+    @GetMapping("/code-suggestions")
+    public ResponseEntity<List<String>> suggestProductCodes(@RequestParam(defaultValue = "") String prefix,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.suggestProductCodes(prefix, limit));
+    }
+
+    /**
+     * Cuenta los productos que cumplen un filtro sobre los campos indexados.
+     *
+     * @param request La petición con los parámetros {@code filter}.
+     * @return Una respuesta con el número de productos que cumplen el filtro.
+     * @throws InvalidFilterException Si el filtro usa un campo u operador que no resuelve ningún índice.
+     */
+    @GetMapping("/search/count")
+    public ResponseEntity<Long> countProducts(HttpServletRequest request) {
+        return ResponseEntity.ok(productService.countProducts(FilterParameters.conditions(request)));
+    }
+
     /**
      * Obtiene todos los productos de la línea "Ornamentales" con una cantidad en stock mayor a 100.
      * 
      * @return Una lista de productos que cumplen con los criterios especificados.
      */
     @GetMapping("/products-ornamentales")
-    public List<Product> getOrnamentalesWithStockOver100() {
+    public List<ProductDTO> getOrnamentalesWithStockOver100() {
         return productService.getProductsByProductLineAndQuantityInStock("Ornamentales", 100);
     }
 
@@ -88,18 +168,64 @@ public class ProductController {
      * @return Un ResponseEntity que contiene el producto más caro y el producto más barato.
      */
     @GetMapping("/precio-min-max")
-    public ResponseEntity<Product[]> findMinMaxProductPrice() {
-        Product[] minMaxPrices = productService.findMinMaxProductPrice();
+    public ResponseEntity<ProductDTO[]> findMinMaxProductPrice() {
+        ProductDTO[] minMaxPrices = productService.findMinMaxProductPrice();
         return ResponseEntity.ok(minMaxPrices);
     }
 
     /**
-     * Obtiene los 20 productos más vendidos.
-     * @return ResponseEntity con la lista de los 20 productos más vendidos.
+     * Obtiene los productos con un precio de venta dentro de un rango.
+     *
+     * @param min El precio mínimo, incluido.
+     * @param max El precio máximo, incluido.
+     * @return Un ResponseEntity con los productos ordenados por precio.
+     * @throws DifferentDataTypeException Si el mínimo es mayor que el máximo.
+     */
+    @GetMapping("/price-range")
+    public ResponseEntity<List<ProductDTO>> getProductsByPriceRange(@RequestParam BigDecimal min, @RequestParam BigDecimal max) {
+        return ResponseEntity.ok(productService.getProductsByPriceRange(min, max));
+    }
+
+    /**
+     * Obtiene los productos más baratos.
+     *
+     * @param k El número de productos, 10 si no se indica.
+     * @return Un ResponseEntity con los productos, del más barato al más caro.
+     * @throws DifferentDataTypeException Si {@code k} no está entre 1 y 1000.
+     */
+    @GetMapping("/cheapest")
+    public ResponseEntity<List<ProductDTO>> getCheapestProducts(@RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(productService.getTopProductsByPrice(k, false));
+    }
+
+    /**
+     * Obtiene los productos más caros.
+     *
+     * @param k El número de productos, 10 si no se indica.
+     * @return Un ResponseEntity con los productos, del más caro al más barato.
+     * @throws DifferentDataTypeException Si {@code k} no está entre 1 y 1000.
+     */
+    @GetMapping("/most-expensive")
+    public ResponseEntity<List<ProductDTO>> getMostExpensiveProducts(@RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(productService.getTopProductsByPrice(k, true));
+    }
+
+    /**
+     * Obtiene los productos más vendidos, en total, de una gama o de un rango de meses.
+     *
+     * @param k           El número de productos, 20 si no se indica.
+     * @param productLine La gama de los productos, opcional.
+     * @param from        El primer mes de la fecha de los pedidos, por ejemplo {@code 2008-01}, opcional.
+     * @param to          El último mes de la fecha de los pedidos, opcional.
+     * @return ResponseEntity con pares de producto y unidades vendidas, del que más vende al que menos.
+     * @throws DifferentDataTypeException Si {@code k} no está entre 1 y 1000 o {@code from} es posterior a {@code to}.
      */
     @GetMapping("/best-sellers")
-    public ResponseEntity<List<Object[]>> getTop20BestSellingProducts() {
-        List<Object[]> topProducts = productService.findTop20BestSellingProducts();
+    public ResponseEntity<List<Object[]>> getBestSellingProducts(@RequestParam(defaultValue = "20") int k,
+                                                                 @RequestParam(required = false) String productLine,
+                                                                 @RequestParam(required = false) YearMonth from,
+                                                                 @RequestParam(required = false) YearMonth to) {
+        List<Object[]> topProducts = productService.findBestSellingProducts(k, productLine, from, to);
         return ResponseEntity.ok(topProducts);
     }
 
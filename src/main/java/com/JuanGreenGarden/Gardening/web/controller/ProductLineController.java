@@ -4,6 +4,8 @@ import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
 import com.JuanGreenGarden.Gardening.domain.service.ProductLineService;
 import com.JuanGreenGarden.Gardening.persistence.entity.ProductLine;
 import com.JuanGreenGarden.Gardening.persistence.entity.DTO.ProductLineDTO;
+import com.JuanGreenGarden.Gardening.web.config.CachedResponse;
+import com.JuanGreenGarden.Gardening.web.config.TableDependencies;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
@@ -18,6 +20,7 @@ import java.util.List;
  * Controlador REST para operaciones relacionadas con las líneas de producto.
  */
 @RestController
+@TableDependencies("gama_producto")
 @RequestMapping("/api/productlines")
 @PreAuthorize("hasRole('ADMIN')")
 @SecurityRequirement(name = "bearerAuth")
@@ -36,6 +39,7 @@ public class ProductLineController {
      * @return Una respuesta con una lista de todas las líneas de producto.
      */
     @GetMapping
+    @CachedResponse
     public ResponseEntity<List<ProductLineDTO>> getAllProductLines() {
         List<ProductLineDTO> productLines = productLineService.getAllProductLines();
         return new ResponseEntity<>(productLines, HttpStatus.OK);
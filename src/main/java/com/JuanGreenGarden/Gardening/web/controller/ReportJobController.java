@@ -0,0 +1,99 @@
+package com.JuanGreenGarden.Gardening.web.controller;
+
+import java.net.URI;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.JuanGreenGarden.Gardening.domain.Exceptions.NotFoundEndPoint;
+import com.JuanGreenGarden.Gardening.domain.service.ReportJobService;
+import com.JuanGreenGarden.Gardening.persistence.entity.ReportJob;
+import com.JuanGreenGarden.Gardening.persistence.entity.ReportJobStatus;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+/**
+ * Controlador REST para lanzar reportes pesados como trabajos asíncronos y consultar su resultado.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @Autowired
+    public ReportJobController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    /**
+     * Obtiene los nombres de los reportes que se pueden lanzar como trabajo.
+     *
+     * @return Una respuesta con el conjunto de reportes disponibles.
+     */
+    @GetMapping
+    public ResponseEntity<Set<String>> getAvailableReports() {
+        return ResponseEntity.ok(reportJobService.getAvailableReports());
+    }
+
+    /**
+     * Lanza un reporte en segundo plano.
+     *
+     * @param reportName El nombre del reporte.
+     * @return Una respuesta 202 con el trabajo creado, o con el que ya estaba en curso para el mismo reporte.
+     */
+    @PostMapping("/{reportName}")
+    public ResponseEntity<ReportJob> submitReport(@PathVariable String reportName) {
+        ReportJob job = reportJobService.submit(reportName);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Obtiene el estado de un trabajo de reporte.
+     *
+     * @param jobId El identificador del trabajo.
+     * @return Una respuesta con el trabajo correspondiente.
+     * @throws NotFoundEndPoint Si el trabajo no existe o ya venció.
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJob> getJob(@PathVariable String jobId) {
+        return new ResponseEntity<>(reportJobService.getJob(jobId), HttpStatus.OK);
+    }
+
+    /**
+     * Descarga el resultado de un trabajo de reporte.
+     *
+     * @param jobId El identificador del trabajo.
+     * @return El fichero JSON con el resultado si el trabajo terminó, o una respuesta 202 con el trabajo si sigue en curso.
+     * @throws NotFoundEndPoint Si el trabajo no existe o ya venció.
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    public ResponseEntity<?> getJobResult(@PathVariable String jobId) {
+        ReportJob job = reportJobService.getJob(jobId);
+        if (job.getStatus() == ReportJobStatus.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(job);
+        }
+        if (job.getStatus() != ReportJobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getReportName() + "-" + jobId + ".json\"")
+                .body(new FileSystemResource(job.getResultPath()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.JuanGreenGarden.Gardening.web.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.JuanGreenGarden.Gardening.domain.monitoring.SlowQueryLog;
+import com.JuanGreenGarden.Gardening.persistence.entity.SlowQuery;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+/**
+ * Controlador REST para consultar las últimas consultas lentas y sus planes de ejecución.
+ */
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@PreAuthorize("hasRole('ADMIN')")
+@SecurityRequirement(name = "bearerAuth")
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @Autowired
+    public SlowQueryController(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    /**
+     * Obtiene las consultas lentas guardadas, de la más reciente a la más antigua.
+     *
+     * @return Una respuesta con la lista de consultas lentas.
+     */
+    @GetMapping
+    public ResponseEntity<List<SlowQuery>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryLog.getEntries());
+    }
+
+    /**
+     * Vacía el registro de consultas lentas.
+     *
+     * @return Una respuesta 204 sin contenido.
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
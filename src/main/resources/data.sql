@@ -52,6 +52,8 @@ CREATE TABLE cliente (
   FOREIGN KEY (codigo_empleado_rep_ventas) REFERENCES empleado (codigo_empleado)
 );
 
+CREATE SEQUENCE cliente_codigo_cliente_seq START WITH 1000 INCREMENT BY 50;
+
 CREATE TABLE pedido (
   codigo_pedido INTEGER NOT NULL,
   fecha_pedido date NOT NULL,
@@ -64,6 +66,8 @@ CREATE TABLE pedido (
   FOREIGN KEY (codigo_cliente) REFERENCES cliente (codigo_cliente)
 );
 
+CREATE SEQUENCE pedido_codigo_pedido_seq START WITH 1000 INCREMENT BY 50;
+
 CREATE TABLE producto (
   codigo_producto VARCHAR(15) NOT NULL,
   nombre VARCHAR(70) NOT NULL,
@@ -99,6 +103,26 @@ CREATE TABLE pago (
   FOREIGN KEY (codigo_cliente) REFERENCES cliente (codigo_cliente)
 );
 
+CREATE TABLE admin (
+  id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+  username VARCHAR(255),
+  password VARCHAR(255),
+  token VARCHAR(255),
+  PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cliente_nombre ON cliente (nombre_cliente);
+CREATE INDEX idx_cliente_pais ON cliente (pais);
+CREATE INDEX idx_cliente_ciudad ON cliente (ciudad);
+CREATE INDEX idx_cliente_rep_ventas ON cliente (codigo_empleado_rep_ventas);
+CREATE INDEX idx_cliente_limite_credito ON cliente (limite_credito);
+CREATE INDEX idx_producto_gama_stock ON producto (gama, cantidad_en_stock);
+CREATE INDEX idx_producto_stock ON producto (cantidad_en_stock);
+CREATE INDEX idx_producto_precio_venta ON producto (precio_venta);
+CREATE INDEX idx_empleado_puesto ON empleado (puesto);
+CREATE INDEX idx_empleado_oficina ON empleado (codigo_oficina);
+CREATE INDEX idx_empleado_jefe ON empleado (codigo_jefe);
+
 
 INSERT INTO oficina VALUES ('BCN-ES','Barcelona','España','Barcelona','08019','+34 93 3561182','Avenida Diagonal, 38','3A escalera Derecha');
 INSERT INTO oficina VALUES ('BOS-USA','Boston','EEUU','MA','02108','+1 215 837 0825','1550 Court Place','Suite 102');
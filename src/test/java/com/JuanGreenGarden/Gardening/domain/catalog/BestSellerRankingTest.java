@@ -0,0 +1,294 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.JuanGreenGarden.Gardening.domain.catalog.BestSellerRanking.Entry;
+import com.JuanGreenGarden.Gardening.domain.repository.ProductRepository;
+import com.JuanGreenGarden.Gardening.persistence.entity.Order;
+import com.JuanGreenGarden.Gardening.persistence.entity.OrderDetail;
+import com.JuanGreenGarden.Gardening.persistence.entity.Product;
+
+/**
+ * Comprueba que el ranking que se mantiene con los eventos de Hibernate da siempre lo mismo que agrupar todas
+ * las líneas de pedido, como haría la consulta con {@code GROUP BY}.
+ *
+ * Las líneas confirmadas se guardan en una lista; el repositorio las agrupa por producto y mes igual que
+ * {@link ProductRepository#findUnitsSoldByProductAndMonth()}, y cada escritura se aplica a la lista y se
+ * notifica al ranking como lo haría Hibernate después del commit. El ranking solo sigue a tres productos para
+ * que entren y salgan a menudo del conjunto acotado.
+ */
+class BestSellerRankingTest {
+
+    private static final int TRACKED = 3;
+
+    private static final Map<String, String> PRODUCT_LINES = new HashMap<>();
+    private static final List<YearMonth> MONTHS = new ArrayList<>();
+
+    static {
+        String[] productLines = { "Frutales", "Herramientas", "Ornamentales" };
+        for (int i = 0; i < 12; i++) {
+            PRODUCT_LINES.put(String.format("P%02d", i), productLines[i % productLines.length]);
+        }
+        for (int month = 1; month <= 6; month++) {
+            MONTHS.add(YearMonth.of(2024, month));
+        }
+    }
+
+    private static final String[] PROPERTIES = { "orderDetailId", "orderField", "priceEach", "productField", "quantityOrdered" };
+
+    private final List<OrderDetail> lines = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private ProductRepository productRepository;
+    private EntityPersister persister;
+    private BestSellerRanking ranking;
+    private Runnable duringNextLoad;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findUnitsSoldByProductAndMonth()).thenAnswer(invocation -> {
+            List<Object[]> rows = groupByProductAndMonth();
+            if (duringNextLoad != null) {
+                Runnable commit = duringNextLoad;
+                duringNextLoad = null;
+                commit.run();
+            }
+            return rows;
+        });
+        ProductCatalog productCatalog = mock(ProductCatalog.class);
+        when(productCatalog.productLineOf(anyString())).thenAnswer(invocation -> PRODUCT_LINES.get(invocation.<String>getArgument(0)));
+        persister = mock(EntityPersister.class);
+        when(persister.getPropertyNames()).thenReturn(PROPERTIES);
+
+        ranking = new BestSellerRanking(null, productRepository, productCatalog, TRACKED);
+        for (int i = 0; i < 20; i++) {
+            lines.add(randomLine());
+        }
+    }
+
+    @Test
+    void matchesTheGroupByAfterEveryInsertUpdateAndDelete() {
+        assertMatchesGroupBy();
+        for (int step = 0; step < 400; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || lines.isEmpty()) {
+                insert(randomLine());
+            } else if (operation < 6) {
+                updateQuantity(randomExistingLine(), 1 + random.nextInt(30));
+            } else if (operation < 7) {
+                updateProduct(randomExistingLine(), randomProduct());
+            } else {
+                delete(randomExistingLine());
+            }
+            assertMatchesGroupBy();
+        }
+        verify(productRepository, times(1)).findUnitsSoldByProductAndMonth();
+    }
+
+    @Test
+    void leadersFollowAProductThatDropsOutAndComesBack() {
+        lines.clear();
+        insert(line("P00", MONTHS.get(0), 50));
+        insert(line("P01", MONTHS.get(0), 40));
+        insert(line("P02", MONTHS.get(0), 30));
+        insert(line("P03", MONTHS.get(0), 20));
+        assertEquals(groupBy(TRACKED, null, null, null), ranking.top(TRACKED, null, null, null));
+
+        OrderDetail best = lines.get(0);
+        updateQuantity(best, 1);
+        assertEquals(List.of(new Entry("P01", 40), new Entry("P02", 30), new Entry("P03", 20)),
+                ranking.top(TRACKED, null, null, null));
+
+        updateQuantity(best, 35);
+        assertEquals(List.of(new Entry("P01", 40), new Entry("P00", 35), new Entry("P02", 30)),
+                ranking.top(TRACKED, null, null, null));
+
+        delete(lines.get(1));
+        assertEquals(List.of(new Entry("P00", 35), new Entry("P02", 30), new Entry("P03", 20)),
+                ranking.top(TRACKED, null, null, null));
+    }
+
+    @Test
+    void rebuildReadsWritesThatDidNotGoThroughHibernate() {
+        assertMatchesGroupBy();
+        List<Entry> before = ranking.top(10, null, null, null);
+
+        // Como un COPY o un UPDATE en SQL: cambia la tabla sin eventos
+        lines.add(line("P11", MONTHS.get(2), 500));
+        lines.remove(0);
+        assertEquals(before, ranking.top(10, null, null, null));
+
+        ranking.rebuild();
+        assertMatchesGroupBy();
+        verify(productRepository, times(2)).findUnitsSoldByProductAndMonth();
+    }
+
+    @Test
+    void loadsAgainWhenALineIsCommittedDuringTheLoad() {
+        List<Entry> beforeCommit = groupBy(10, null, null, null);
+        OrderDetail concurrent = line("P05", MONTHS.get(3), 1000);
+        duringNextLoad = () -> insert(concurrent);
+
+        assertEquals(beforeCommit, ranking.top(10, null, null, null));
+
+        assertMatchesGroupBy();
+        assertEquals(new Entry("P05", unitsOf("P05")), ranking.top(1, null, null, null).get(0));
+        verify(productRepository, times(2)).findUnitsSoldByProductAndMonth();
+    }
+
+    @Test
+    void rebuildDuringWhichALineIsDeletedLoadsAgainOnTheNextCall() {
+        assertMatchesGroupBy();
+        OrderDetail deleted = lines.get(0);
+        duringNextLoad = () -> delete(deleted);
+
+        ranking.rebuild();
+
+        assertMatchesGroupBy();
+        verify(productRepository, times(3)).findUnitsSoldByProductAndMonth();
+    }
+
+    @Test
+    void loadsAgainWhenAnUpdateComesWithoutItsOldState() {
+        assertMatchesGroupBy();
+        OrderDetail detail = lines.get(0);
+        detail.setQuantityOrdered(detail.getQuantityOrdered() + 7);
+        ranking.onPostUpdate(new PostUpdateEvent(detail, null, state(detail), null, null, persister, null));
+
+        assertMatchesGroupBy();
+        verify(productRepository, times(2)).findUnitsSoldByProductAndMonth();
+    }
+
+    private void assertMatchesGroupBy() {
+        assertRanking(TRACKED, null, null, null);
+        assertRanking(1, null, null, null);
+        assertRanking(PRODUCT_LINES.size(), null, null, null);
+        for (String productLine : List.of("Frutales", "Herramientas", "Ornamentales")) {
+            assertRanking(2, productLine, null, null);
+        }
+        assertRanking(4, null, MONTHS.get(1), MONTHS.get(3));
+        assertRanking(4, null, MONTHS.get(4), null);
+        assertRanking(4, null, null, MONTHS.get(0));
+        assertRanking(2, "Herramientas", MONTHS.get(2), MONTHS.get(5));
+    }
+
+    private void assertRanking(int k, String productLine, YearMonth from, YearMonth to) {
+        assertEquals(groupBy(k, productLine, from, to), ranking.top(k, productLine, from, to),
+                "top " + k + " productLine=" + productLine + " from=" + from + " to=" + to);
+    }
+
+    /**
+     * El ranking calculado desde cero sobre todas las líneas.
+     */
+    private List<Entry> groupBy(int k, String productLine, YearMonth from, YearMonth to) {
+        Map<String, Long> units = new HashMap<>();
+        for (OrderDetail detail : lines) {
+            String productCode = detail.getProductField().getProductCode();
+            YearMonth month = YearMonth.from(((java.sql.Date) detail.getOrderField().getOrderDate()).toLocalDate());
+            if ((productLine == null || productLine.equals(PRODUCT_LINES.get(productCode)))
+                    && (from == null || !month.isBefore(from)) && (to == null || !month.isAfter(to))) {
+                units.merge(productCode, (long) detail.getQuantityOrdered(), Long::sum);
+            }
+        }
+        return units.entrySet().stream()
+                .map(entry -> new Entry(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(Entry::units).reversed().thenComparing(Entry::productCode))
+                .limit(k)
+                .toList();
+    }
+
+    private long unitsOf(String productCode) {
+        return lines.stream()
+                .filter(detail -> detail.getProductField().getProductCode().equals(productCode))
+                .mapToLong(OrderDetail::getQuantityOrdered)
+                .sum();
+    }
+
+    private List<Object[]> groupByProductAndMonth() {
+        Map<List<Object>, Long> units = new HashMap<>();
+        for (OrderDetail detail : lines) {
+            YearMonth month = YearMonth.from(((java.sql.Date) detail.getOrderField().getOrderDate()).toLocalDate());
+            units.merge(List.of(detail.getProductField().getProductCode(), month.getYear(), month.getMonthValue()),
+                    (long) detail.getQuantityOrdered(), Long::sum);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        units.forEach((key, sold) -> rows.add(new Object[] { key.get(0), key.get(1), key.get(2), sold }));
+        return rows;
+    }
+
+    private void insert(OrderDetail detail) {
+        lines.add(detail);
+        ranking.onPostInsert(new PostInsertEvent(detail, null, state(detail), persister, null));
+    }
+
+    private void updateQuantity(OrderDetail detail, int quantity) {
+        Object[] oldState = state(detail);
+        detail.setQuantityOrdered(quantity);
+        ranking.onPostUpdate(new PostUpdateEvent(detail, null, state(detail), oldState, null, persister, null));
+    }
+
+    private void updateProduct(OrderDetail detail, Product product) {
+        Object[] oldState = state(detail);
+        detail.setProductField(product);
+        ranking.onPostUpdate(new PostUpdateEvent(detail, null, state(detail), oldState, null, persister, null));
+    }
+
+    private void delete(OrderDetail detail) {
+        lines.remove(detail);
+        ranking.onPostDelete(new PostDeleteEvent(detail, null, state(detail), persister, null));
+    }
+
+    private static Object[] state(OrderDetail detail) {
+        return new Object[] { detail.getOrderDetailId(), detail.getOrderField(), detail.getPriceEach(),
+                detail.getProductField(), detail.getQuantityOrdered() };
+    }
+
+    private OrderDetail randomLine() {
+        return line(randomProduct().getProductCode(), MONTHS.get(random.nextInt(MONTHS.size())), 1 + random.nextInt(30));
+    }
+
+    private OrderDetail randomExistingLine() {
+        return lines.get(random.nextInt(lines.size()));
+    }
+
+    private Product randomProduct() {
+        return product(String.format("P%02d", random.nextInt(PRODUCT_LINES.size())));
+    }
+
+    private static OrderDetail line(String productCode, YearMonth month, int quantity) {
+        Order order = new Order();
+        order.setOrderDate(java.sql.Date.valueOf(month.atDay(15)));
+        OrderDetail detail = new OrderDetail();
+        detail.setOrderField(order);
+        detail.setProductField(product(productCode));
+        detail.setQuantityOrdered(quantity);
+        return detail;
+    }
+
+    private static Product product(String productCode) {
+        Product product = new Product();
+        product.setProductCode(productCode);
+        return product;
+    }
+}
@@ -0,0 +1,171 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Comprueba el índice de prefijos contra un recorrido de todos los valores: el tramo de la búsqueda binaria,
+ * el máximo del árbol de segmentos y el orden en que el montículo de intervalos saca las sugerencias.
+ */
+class PrefixIndexTest {
+
+    private static final String[] CITIES = { "Madrid", "Málaga", "MALAGA", "malaga", "Miami", "Móstoles", "Murcia",
+            "Barcelona", "Bilbao", "Ávila", "Avilés", "Alcalá", "Sevilla", "San Francisco", "Sydney", "Zaragoza" };
+
+    @Test
+    void anEmptyIndexSuggestsNothing() {
+        PrefixIndex index = PrefixIndex.of(Map.of());
+
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.suggest("", 10));
+        assertEquals(List.of(), index.suggest("m", 10));
+        assertEquals(List.of(), index.startingWith("M"));
+    }
+
+    @Test
+    void ignoresNullValues() {
+        Map<String, Long> counts = new HashMap<>();
+        counts.put(null, 9L);
+        counts.put("Madrid", 2L);
+
+        PrefixIndex index = PrefixIndex.of(counts);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of("Madrid"), index.suggest("", 10));
+    }
+
+    @Test
+    void aSingleValue() {
+        PrefixIndex index = PrefixIndex.of(Map.of("Madrid", 3L));
+
+        assertEquals(List.of("Madrid"), index.suggest("MAD", 10));
+        assertEquals(List.of(), index.suggest("madrids", 10));
+        assertEquals(List.of(), index.suggest("b", 10));
+        assertEquals(List.of(), index.suggest("m", 0));
+    }
+
+    @Test
+    void suggestsTheMostFrequentFirstAndBreaksTiesAlphabetically() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("Murcia", 2L);
+        counts.put("Madrid", 5L);
+        counts.put("Miami", 2L);
+        counts.put("Málaga", 2L);
+        counts.put("Móstoles", 7L);
+        counts.put("Barcelona", 9L);
+
+        PrefixIndex index = PrefixIndex.of(counts);
+
+        assertEquals(List.of("Móstoles", "Madrid", "Málaga", "Miami", "Murcia"), index.suggest("m", 10));
+        assertEquals(List.of("Móstoles", "Madrid", "Málaga"), index.suggest("M", 3));
+        assertEquals(List.of("Madrid", "Málaga"), index.suggest("ma", 10));
+        assertEquals(List.of("Barcelona", "Móstoles"), index.suggest("", 2));
+    }
+
+    @Test
+    void foldsCaseAndAccentsInTheSuggestions() {
+        PrefixIndex index = PrefixIndex.of(counts(CITIES));
+
+        assertEquals(List.of("Ávila", "Avilés"), index.suggest("avil", 10));
+        assertEquals(List.of("Ávila", "Avilés"), index.suggest("ÁVIL", 10));
+        assertEquals(List.of("MALAGA", "Málaga", "malaga"), index.suggest("malaga", 10));
+        assertEquals(List.of("Móstoles"), index.suggest("mos", 10));
+    }
+
+    @Test
+    void startingWithDistinguishesCaseAndAccents() {
+        Map<String, Long> counts = counts(CITIES);
+        counts.put("Madrid", 4L);
+        PrefixIndex index = PrefixIndex.of(counts);
+
+        assertEquals(List.of("Madrid=4", "MALAGA=1", "Málaga=1", "Miami=1", "Móstoles=1", "Murcia=1"),
+                pairs(index.startingWith("M")));
+        assertEquals(List.of("malaga=1"), pairs(index.startingWith("m")));
+        assertEquals(List.of("Málaga=1"), pairs(index.startingWith("Má")));
+        assertEquals(List.of("MALAGA=1"), pairs(index.startingWith("MA")));
+        assertEquals(List.of("Alcalá=1", "Avilés=1"), pairs(index.startingWith("A")));
+        assertEquals(List.of("Ávila=1"), pairs(index.startingWith("Á")));
+        assertEquals(List.of(), pairs(index.startingWith("x")));
+    }
+
+    @Test
+    void matchesABruteForceScanForEverySizeAndPrefix() {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int size = 1; size <= 40; size++) {
+            Map<String, Long> counts = new HashMap<>();
+            while (counts.size() < size) {
+                counts.put(randomWord(random), 1L + random.nextInt(4));
+            }
+            PrefixIndex index = PrefixIndex.of(counts);
+
+            List<String> prefixes = new ArrayList<>(List.of("", "A", "á", "zz"));
+            for (String value : counts.keySet()) {
+                prefixes.add(value.substring(0, 1));
+                prefixes.add(value.substring(0, Math.min(2, value.length())));
+                prefixes.add(value);
+            }
+            for (String prefix : prefixes) {
+                for (int limit : new int[] { 1, 3, size }) {
+                    assertEquals(suggestByScan(counts, prefix, limit), index.suggest(prefix, limit),
+                            "size " + size + " prefix '" + prefix + "' limit " + limit + " in " + counts);
+                }
+                assertEquals(startingWithByScan(counts, prefix), pairs(index.startingWith(prefix)),
+                        "size " + size + " prefix '" + prefix + "' in " + counts);
+            }
+        }
+    }
+
+    private static List<String> suggestByScan(Map<String, Long> counts, String prefix, int limit) {
+        String folded = PrefixIndex.fold(prefix);
+        return counts.entrySet().stream()
+                .filter(entry -> PrefixIndex.fold(entry.getKey()).startsWith(folded))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(entry -> PrefixIndex.fold(entry.getKey()) + '\0' + entry.getKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static List<String> startingWithByScan(Map<String, Long> counts, String prefix) {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .sorted(Comparator.comparing(entry -> PrefixIndex.fold(entry.getKey()) + '\0' + entry.getKey()))
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .toList();
+    }
+
+    /**
+     * Palabras cortas de un alfabeto pequeño, con mayúsculas y tildes, para que se repitan prefijos y formas
+     * normalizadas.
+     */
+    private static String randomWord(SplittableRandom random) {
+        String letters = "aAáÁbBcñ";
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            word.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return word.toString();
+    }
+
+    private static Map<String, Long> counts(String... values) {
+        Map<String, Long> counts = new HashMap<>();
+        for (String value : values) {
+            counts.merge(value, 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private static List<String> pairs(List<Object[]> rows) {
+        return rows.stream().map(row -> row[0] + "=" + row[1]).toList();
+    }
+}
@@ -0,0 +1,239 @@
+package com.JuanGreenGarden.Gardening.domain.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.JuanGreenGarden.Gardening.domain.repository.ProductRepository;
+import com.JuanGreenGarden.Gardening.persistence.entity.Product;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba el índice de búsqueda de productos sin base de datos: el repositorio devuelve las filas del
+ * catálogo de una lista y los cambios se notifican como lo haría Hibernate después del commit.
+ *
+ * Salvo en las pruebas de PostgreSQL, la base no lo es, así que la primera búsqueda construye el índice en la
+ * propia llamada.
+ */
+class ProductSearchIndexTest {
+
+    private final List<Object[]> catalog = new ArrayList<>();
+
+    private ProductRepository productRepository;
+    private ProductSearchIndex index;
+    private Runnable duringNextLoad;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findCatalogRows()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>(catalog);
+            if (duringNextLoad != null) {
+                Runnable commit = duringNextLoad;
+                duringNextLoad = null;
+                commit.run();
+            }
+            return rows;
+        });
+        index = index(mock(H2Dialect.class));
+    }
+
+    @Test
+    void foldsCaseAccentsAndPunctuation() {
+        add("P1", "Árbol del Ñandú", "Viveros Güell", "Planta de interior, muy resistente.");
+
+        assertEquals(List.of("P1"), index.search("arbol", 10));
+        assertEquals(List.of("P1"), index.search("ÁRBOL", 10));
+        assertEquals(List.of("P1"), index.search("nandu", 10));
+        assertEquals(List.of("P1"), index.search("ñandú", 10));
+        assertEquals(List.of("P1"), index.search("guell", 10));
+        assertEquals(List.of("P1"), index.search("interior,resistente!", 10));
+        assertEquals(List.of(), index.search("arból-x", 10));
+    }
+
+    @Test
+    void ignoresStopWords() {
+        add("P1", "Maceta para exterior", "Viveros", "");
+
+        assertEquals(List.of(), index.search("para", 10));
+        assertEquals(List.of(), index.search("de la y", 10));
+        assertEquals(List.of("P1"), index.search("maceta de exterior", 10));
+        assertEquals(List.of(), index.search(null, 10));
+        assertEquals(List.of(), index.search("  ,. ", 10));
+    }
+
+    @Test
+    void onlyWordsWithTwoLettersOrMoreMatchAsPrefix() {
+        add("P1", "Vitamina C", "", "");
+        add("P2", "Cactus", "", "");
+        add("P3", "Cardo", "", "");
+
+        assertEquals(List.of("P1"), index.search("c", 10));
+        assertEquals(List.of("P2", "P3"), index.search("ca", 10));
+        assertEquals(List.of("P2"), index.search("cac", 10));
+    }
+
+    @Test
+    void aPrefixExpandsToAtMostFiftyTerms() {
+        for (int i = 0; i < 60; i++) {
+            add(String.format("P%02d", i), String.format("zeta%02d", i), "", "");
+        }
+        add("EXACT", "zeta", "", "");
+
+        List<String> found = index.search("zeta", 100);
+
+        // La propia palabra cuenta como uno de los cincuenta términos
+        assertEquals(50, found.size());
+        assertEquals("EXACT", found.get(0));
+        for (int i = 0; i < 49; i++) {
+            assertTrue(found.contains(String.format("P%02d", i)), "P" + i);
+        }
+        assertEquals(List.of("P55"), index.search("zeta55", 100));
+    }
+
+    @Test
+    void findsOnlyProductsWithEveryWord() {
+        add("P1", "Rosa roja", "", "");
+        add("P2", "Rosa blanca", "", "");
+        add("P3", "Clavel", "", "Flor roja");
+
+        assertEquals(List.of("P1"), index.search("rosa roja", 10));
+        assertEquals(List.of("P1"), index.search("roja rosa rosa", 10));
+        assertEquals(List.of("P2"), index.search("ros blan", 10));
+        assertEquals(List.of(), index.search("rosa clavel", 10));
+        assertEquals(List.of(), index.search("rosa azul", 10));
+    }
+
+    @Test
+    void ranksTheNameAboveTheVendorAndTheDescription() {
+        add("NAME", "Rosa", "Viveros", "Flor");
+        add("VENDOR", "Semillas", "Rosa", "Flor");
+        add("DESCRIPTION", "Abono", "Viveros", "Rosa");
+
+        assertEquals(List.of("NAME", "DESCRIPTION", "VENDOR"), index.search("rosa", 10));
+        assertEquals(List.of("NAME"), index.search("rosa", 1));
+    }
+
+    @Test
+    void ranksShorterFieldsAndMoreOccurrencesFirst() {
+        add("LONG", "Rosa trepadora grande", "", "");
+        add("SHORT", "Rosa", "", "");
+        add("ONCE", "Abono", "", "Abono rosa");
+        add("TWICE", "Abono", "", "Rosa rosa");
+
+        assertEquals(List.of("SHORT", "LONG", "TWICE", "ONCE"), index.search("rosa", 10));
+    }
+
+    @Test
+    void ranksExactMatchesAbovePrefixMatches() {
+        add("A_PREFIX", "Rosal", "", "");
+        add("B_EXACT", "Rosa", "", "");
+
+        assertEquals(List.of("B_EXACT", "A_PREFIX"), index.search("rosa", 10));
+    }
+
+    @Test
+    void breaksTiesByProductCode() {
+        add("B", "Rosa", "", "");
+        add("C", "Rosa", "", "");
+        add("A", "Rosa", "", "");
+
+        assertEquals(List.of("A", "B", "C"), index.search("rosa", 10));
+    }
+
+    @Test
+    void appliesChangesCommittedWhileTheCatalogIsRead() {
+        add("P1", "Rosa", "", "");
+        add("P2", "Rosa blanca", "", "");
+        duringNextLoad = () -> {
+            index.onPostUpdate(new PostUpdateEvent(product("P1", "Clavel"), null, null, null, null, null, null));
+            index.onPostDelete(new PostDeleteEvent(product("P2", "Rosa blanca"), null, null, null, null));
+            index.onPostInsert(new PostInsertEvent(product("P3", "Rosa roja"), null, null, null, null));
+        };
+
+        assertEquals(List.of("P3"), index.search("rosa", 10));
+        assertEquals(List.of("P1"), index.search("clavel", 10));
+        assertEquals(List.of(), index.search("blanca", 10));
+        verify(productRepository, times(1)).findCatalogRows();
+    }
+
+    @Test
+    void keepsUpWithChangesOnceBuilt() {
+        add("P1", "Rosa", "", "");
+        add("P2", "Clavel", "", "");
+        assertEquals(List.of("P1"), index.search("rosa", 10));
+
+        index.onPostUpdate(new PostUpdateEvent(product("P1", "Tulipán"), null, null, null, null, null, null));
+        index.onPostInsert(new PostInsertEvent(product("P3", "Rosa roja"), null, null, null, null));
+        index.onPostDelete(new PostDeleteEvent(product("P2", "Clavel"), null, null, null, null));
+
+        assertEquals(List.of("P3"), index.search("rosa", 10));
+        assertEquals(List.of("P1"), index.search("tulipan", 10));
+        assertEquals(List.of(), index.search("clavel", 10));
+        verify(productRepository, times(1)).findCatalogRows();
+    }
+
+    @Test
+    void searchesWithTsQueryOnPostgresUntilTheIndexIsReady() {
+        ProductRepository postgresRepository = mock(ProductRepository.class);
+        when(postgresRepository.searchByFullText(anyString(), anyInt())).thenReturn(List.of("FROM-DB"));
+        productRepository = postgresRepository;
+        ProductSearchIndex postgresIndex = index(mock(PostgreSQLDialect.class));
+
+        assertEquals(List.of("FROM-DB"), postgresIndex.search("Rosas de ÑANDÚ, c", 7));
+
+        verify(postgresRepository).searchByFullText("rosas:* & nandu:* & c", 7);
+    }
+
+    @Test
+    void doesNotQueryTheDatabaseForAQueryOfStopWords() {
+        ProductRepository postgresRepository = mock(ProductRepository.class);
+        productRepository = postgresRepository;
+        ProductSearchIndex postgresIndex = index(mock(PostgreSQLDialect.class));
+
+        assertEquals(List.of(), postgresIndex.search("de la", 10));
+
+        verify(postgresRepository, never()).searchByFullText(anyString(), anyInt());
+        verify(postgresRepository, never()).findCatalogRows();
+    }
+
+    private ProductSearchIndex index(Dialect dialect) {
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        when(sessionFactory.getJdbcServices().getDialect()).thenReturn(dialect);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        return new ProductSearchIndex(entityManagerFactory, productRepository);
+    }
+
+    private void add(String productCode, String name, String vendor, String description) {
+        catalog.add(new Object[] { productCode, name, null, vendor, description, null, null, null, null });
+    }
+
+    private static Product product(String productCode, String name) {
+        Product product = new Product();
+        product.setProductCode(productCode);
+        product.setProductName(name);
+        return product;
+    }
+}
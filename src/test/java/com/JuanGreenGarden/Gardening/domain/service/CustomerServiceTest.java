@@ -0,0 +1,45 @@
+package com.JuanGreenGarden.Gardening.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Comprueba contra los datos de {@code data.sql} que el recuento de clientes por ciudad que empieza por "M",
+ * que ahora sale del índice de sugerencias de ciudades, da lo mismo que la consulta con {@code LIKE 'M%'}.
+ */
+@SpringBootTest
+class CustomerServiceTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void countsCustomersByCityStartingWithMLikeTheQuery() {
+        List<String> expected = entityManager
+                .createQuery("SELECT c.city, COUNT(c) FROM Customer c WHERE c.city LIKE 'M%' GROUP BY c.city", Object[].class)
+                .getResultList().stream()
+                .map(row -> row[0] + "=" + row[1])
+                .sorted()
+                .toList();
+
+        List<String> counted = customerService.countCustomersByCityStartingWithM().stream()
+                .map(row -> row[0] + "=" + row[1])
+                .sorted()
+                .toList();
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, counted);
+    }
+}
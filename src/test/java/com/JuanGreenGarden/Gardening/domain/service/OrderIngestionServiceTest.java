@@ -0,0 +1,149 @@
+package com.JuanGreenGarden.Gardening.domain.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderLineDTO;
+import com.JuanGreenGarden.Gardening.persistence.entity.DTO.BulkOrderResultDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Comprueba la carga masiva de pedidos contra los datos de {@code data.sql}: el reparto en bloques, los rechazos
+ * y que los códigos que salen de la secuencia no chocan con los que ya existen.
+ *
+ * El servicio se crea con bloques de dos pedidos para no tener que cargar cientos. Cada prueba se deshace al
+ * terminar, así que los bloques se guardan dentro de su transacción en lugar de en una propia.
+ */
+@SpringBootTest
+@Transactional
+class OrderIngestionServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private OrderIngestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderIngestionService(transactionManager, CHUNK_SIZE);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+    }
+
+    @Test
+    void savesOrdersInChunksOfTheConfiguredSize() {
+        List<BulkOrderDTO> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(order(1, line("11679", 2), line("21636", 1)));
+        }
+
+        BulkOrderResultDTO result = service.ingest(orders);
+
+        assertEquals(5, result.getOrdersReceived());
+        assertEquals(3, result.getChunks());
+        assertEquals(5, result.getOrdersInserted());
+        assertEquals(10, result.getLinesInserted());
+        assertTrue(result.getRejects().isEmpty(), result.getRejects().toString());
+    }
+
+    @Test
+    void rejectsInvalidOrdersAndKeepsTheValidOnes() {
+        BulkOrderDTO missingDates = order(1, line("11679", 1));
+        missingDates.setRequiredDate(null);
+        BulkOrderDTO missingPrice = order(1, line("11679", 1));
+        missingPrice.getLines().get(0).setPriceEach(null);
+
+        List<BulkOrderDTO> orders = List.of(
+                order(1, line("11679", 1)),
+                order(999999, line("11679", 1)),
+                order(1, line("NO-EXISTE", 1)),
+                order(1),
+                missingDates,
+                order(1, line("11679", 1), line("11679", 2)),
+                order(1, line("11679", 0)),
+                missingPrice,
+                order(3, line("21636", 4)));
+
+        BulkOrderResultDTO result = service.ingest(orders);
+
+        assertEquals(2, result.getOrdersInserted());
+        assertEquals(2, result.getLinesInserted());
+        assertEquals(List.of(
+                "Order #1: unknown customer 999999",
+                "Order #2: unknown product NO-EXISTE",
+                "Order #3: an order needs at least one line",
+                "Order #4: orderDate and requiredDate are required",
+                "Order #5: product 11679 appears in more than one line",
+                "Order #6: line for product 11679 needs a positive quantity and a price",
+                "Order #7: line for product 11679 needs a positive quantity and a price"), result.getRejects());
+    }
+
+    @Test
+    void assignsOrderNumbersAboveTheExistingOnes() {
+        int existingMax = maxOrderNumber();
+        long existingOrders = countOrders();
+        List<BulkOrderDTO> orders = new ArrayList<>();
+        for (int customerNumber : new int[] { 1, 3, 4, 5, 6, 7, 8 }) {
+            orders.add(order(customerNumber, line("11679", 1)));
+        }
+
+        service.ingest(orders);
+
+        List<Integer> created = entityManager
+                .createQuery("SELECT o.orderNumber FROM Order o WHERE o.orderNumber > :max", Integer.class)
+                .setParameter("max", existingMax)
+                .getResultList();
+        assertEquals(7, created.size());
+        assertEquals(7, created.stream().distinct().count());
+        assertEquals(existingOrders + 7, countOrders());
+        assertEquals(7L, entityManager
+                .createQuery("SELECT COUNT(od) FROM OrderDetail od WHERE od.orderField.orderNumber > :max", Long.class)
+                .setParameter("max", existingMax)
+                .getSingleResult());
+    }
+
+    private int maxOrderNumber() {
+        return entityManager.createQuery("SELECT MAX(o.orderNumber) FROM Order o", Integer.class).getSingleResult();
+    }
+
+    private long countOrders() {
+        return entityManager.createQuery("SELECT COUNT(o) FROM Order o", Long.class).getSingleResult();
+    }
+
+    private static BulkOrderDTO order(int customerNumber, BulkOrderLineDTO... lines) {
+        BulkOrderDTO order = new BulkOrderDTO();
+        order.setCustomerNumber(customerNumber);
+        order.setOrderDate(new Date());
+        order.setRequiredDate(new Date());
+        order.setStatus("Pendiente");
+        order.setLines(new ArrayList<>(List.of(lines)));
+        return order;
+    }
+
+    private static BulkOrderLineDTO line(String productCode, int quantity) {
+        BulkOrderLineDTO line = new BulkOrderLineDTO();
+        line.setProductCode(productCode);
+        line.setQuantityOrdered(quantity);
+        line.setPriceEach(10.0);
+        return line;
+    }
+}
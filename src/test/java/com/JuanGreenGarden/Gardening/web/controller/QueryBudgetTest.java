@@ -0,0 +1,104 @@
+package com.JuanGreenGarden.Gardening.web.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.JuanGreenGarden.Gardening.domain.monitoring.QueryCounter;
+import com.JuanGreenGarden.Gardening.domain.security.Constants;
+
+/**
+ * Comprueba que cada endpoint no lanza más sentencias SQL que su presupuesto contra los datos de {@code data.sql}.
+ *
+ * Los presupuestos recogen lo que hace hoy cada endpoint: las relaciones EAGER entre entidades hacen que
+ * leer una sola entidad arrastre unas 540 consultas. Si un cambio los supera es que ha añadido consultas;
+ * si los mejora, hay que bajar el presupuesto para que no se pierda la mejora.
+ */
+@SpringBootTest
+class QueryBudgetTest {
+
+    private static String token;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        if (token == null) {
+            mockMvc.perform(post(Constants.REGISTER_URL)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"username\":\"querybudget\",\"password\":\"querybudget\"}"))
+                    .andExpect(status().isOk());
+            token = mockMvc.perform(post(Constants.LOGIN_URL)
+                            .param("username", "querybudget")
+                            .param("password", "querybudget"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+        }
+    }
+
+    @ParameterizedTest(name = "{0} <= {1} queries")
+    @CsvSource({
+            "/api/customers, 543",
+            "/api/customers/1, 539",
+            "'/api/customers?fields=customerNumber,customerName', 1",
+            "'/api/customers/1?fields=customerName,salesRepresentativeName,salesRepresentativeOfficeCity', 1",
+            "/api/customers/spanish-customers, 543",
+            "/api/customers/count-by-country, 1",
+            "/api/customers/search/count?filter=country:eq:Spain, 1",
+            "/api/customers/search/count-by?groupBy=city&filter=city:prefix:M, 1",
+            "/api/customers/count-by-city-starting-with-m, 1",
+            "/api/customers/name-suggestions?prefix=jard, 1",
+            "/api/customers/city-suggestions?prefix=m, 1",
+            "/api/employees/search/count?filter=jobTitle:eq:Representante Ventas, 1",
+            "/api/products/search/count?filter=productLine:eq:Ornamentales&filter=quantityInStock:gt:100, 1",
+            "/api/products/search?q=naranj, 2",
+            "/api/products/code-suggestions?prefix=or, 1",
+            "/api/employees, 539",
+            "/api/employees/1, 539",
+            "/api/offices, 539",
+            "/api/offices/BCN-ES, 538",
+            "/api/orders, 549",
+            "/api/orders/1, 539",
+            "/api/orders/status-count, 1",
+            "/api/orderdetails, 551",
+            "/api/orderdetails/billing-summary, 1",
+            "/api/payments, 549",
+            "/api/products, 540",
+            "/api/products/11679, 538",
+            "'/api/products?fields=productCode,productName,productLine', 1",
+            "'/api/products/11679?fields=productName,buyPrice', 1",
+            "/api/products/best-sellers, 2",
+            "/api/products/best-sellers?k=5&productLine=Ornamentales&from=2008-01&to=2009-12, 1",
+            "/api/products/precio-min-max, 1",
+            "/api/products/products-ornamentales, 1",
+            "/api/products/price-range?min=10&max=20, 1",
+            "/api/products/most-expensive?k=5, 1",
+            "/api/productlines, 541",
+    })
+    void endpointStaysWithinQueryBudget(String path, long budget) throws Exception {
+        QueryCounter.start();
+        try {
+            mockMvc.perform(get(path).header(Constants.HEADER_AUTHORIZACION_KEY, token))
+                    .andExpect(status().isOk());
+        } finally {
+            long queries = QueryCounter.stop();
+            assertTrue(queries <= budget, path + " ran " + queries + " SQL statements, the budget is " + budget);
+        }
+    }
+}